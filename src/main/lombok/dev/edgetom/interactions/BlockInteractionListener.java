@@ -0,0 +1,133 @@
+package dev.edgetom.interactions;
+
+import lombok.AllArgsConstructor;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * The listener keeps the {@link BlockInteractionRegistry} in sync with the loaded chunks, binds the interaction of
+ * {@link InteractionExecutor#isBlockBound() block bound} items to the placed blocks and removes the interactions of
+ * destroyed blocks. The cooldowns of block interactions are cleared when a player quits.
+ */
+@AllArgsConstructor
+public class BlockInteractionListener implements Listener {
+
+    /**
+     * The {@link InteractionManager} the executors are registered in.
+     */
+    private final InteractionManager interactionManager;
+
+    /**
+     * The EventHandler for the {@link ChunkLoadEvent}
+     *
+     * @param event The intercepted event
+     */
+    @EventHandler
+    public void onChunkLoad(ChunkLoadEvent event) {
+        if (event.isNewChunk()) return;
+        interactionManager.getBlockInteractions().loadChunk(event.getChunk());
+    }
+
+    /**
+     * The EventHandler for the {@link ChunkUnloadEvent}
+     *
+     * @param event The intercepted event
+     */
+    @EventHandler
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        interactionManager.getBlockInteractions().unloadChunk(event.getChunk());
+    }
+
+    /**
+     * The EventHandler for the {@link WorldUnloadEvent}
+     *
+     * @param event The intercepted event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        interactionManager.getBlockInteractions().unloadWorld(event.getWorld());
+    }
+
+    /**
+     * The EventHandler for the {@link BlockPlaceEvent}
+     *
+     * @param event The intercepted event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+
+        String interactionKey = getInteractionKey(event.getItemInHand());
+        InteractionExecutor interactionExecutor = interactionKey == null ? null : interactionManager.getInteractionExecutorByKey(interactionKey);
+
+        if (interactionExecutor != null && interactionExecutor.isBlockBound())
+            interactionManager.getBlockInteractions().bind(event.getBlockPlaced(), interactionKey);
+        else
+            // Removes a stale binding of a block which left the position unnoticed
+            interactionManager.getBlockInteractions().unbind(event.getBlockPlaced());
+    }
+
+    /**
+     * The EventHandler for the {@link BlockBreakEvent}
+     *
+     * @param event The intercepted event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        interactionManager.getBlockInteractions().unbind(event.getBlock());
+    }
+
+    /**
+     * The EventHandler for the {@link BlockExplodeEvent}
+     *
+     * @param event The intercepted event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        for (Block block : event.blockList())
+            interactionManager.getBlockInteractions().unbind(block);
+    }
+
+    /**
+     * The EventHandler for the {@link EntityExplodeEvent}
+     *
+     * @param event The intercepted event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        for (Block block : event.blockList())
+            interactionManager.getBlockInteractions().unbind(block);
+    }
+
+    /**
+     * The EventHandler for the {@link PlayerQuitEvent}
+     *
+     * @param event The intercepted event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        interactionManager.getBlockInteractions().clearCooldowns(event.getPlayer().getUniqueId());
+    }
+
+    private String getInteractionKey(ItemStack itemStack) {
+        if (!itemStack.hasItemMeta()) return null;
+
+        ItemMeta itemMeta = itemStack.getItemMeta();
+        assert itemMeta != null;
+
+        return itemMeta.getPersistentDataContainer().get(interactionManager.getPersistentDataContainerKey(), PersistentDataType.STRING);
+    }
+
+}
@@ -0,0 +1,303 @@
+package dev.edgetom.interactions;
+
+import dev.edgetom.interactions.utils.ChunkInteractionIndex;
+import lombok.Getter;
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * <pre>
+ * The BlockInteractionRegistry keeps track of the interactions which are bound to placed blocks.
+ *
+ * The interaction keys of the blocks are stored in the {@link PersistentDataContainer} of their chunk, so that
+ * they are saved together with the world. While a chunk is loaded its entries are held in a
+ * {@link ChunkInteractionIndex}, which means that resolving the interaction of a clicked block does not access
+ * the {@link PersistentDataContainer}. Chunks without interactions are not held in memory.
+ *
+ * Blocks can leave their position without an event the API listens to (e.g. when they are moved by pistons, burn
+ * or are changed by other plugins). Therefore, the type of every block is stored together with its interaction.
+ * If the block at the position does not have this type anymore, the binding is considered stale and removed
+ * when it is accessed, so that it is not inherited by the next block placed at the position.
+ *
+ * The cooldowns of block interactions are kept per player and interaction key instead of per item type, since many
+ * block types are not items and an item cooldown would also affect every item of the same type. Like item cooldowns
+ * they are cleared when a player quits, unless they are persisted by an
+ * {@link dev.edgetom.interactions.persistence.InteractionStateStore}.
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public class BlockInteractionRegistry {
+
+    private static final long MILLIS_PER_TICK = 50;
+
+    /**
+     * The {@link InteractionManager} the registry belongs to.
+     */
+    private final InteractionManager interactionManager;
+
+    /**
+     * The key of the entry in the {@link PersistentDataContainer} of the chunks which contains the encoded
+     * {@link ChunkInteractionIndex}. Like the key used for items it does not change between restarts.
+     */
+    @Getter
+    private final NamespacedKey chunkDataContainerKey;
+
+    /**
+     * The indices of the loaded chunks which contain interactions, mapped by the world and the chunk coordinates.
+     */
+    private final HashMap<UUID, HashMap<Long, ChunkInteractionIndex>> chunkIndices = new HashMap<>();
+
+    /**
+     * The times (in milliseconds since the epoch) at which the cooldowns of block interactions end,
+     * mapped by the player and the interaction key.
+     */
+    private final HashMap<UUID, HashMap<String, Long>> cooldowns = new HashMap<>();
+
+    /**
+     * Creates a new {@link BlockInteractionRegistry} and indexes the chunks which are already loaded.
+     *
+     * @param interactionManager The {@link InteractionManager} the registry belongs to.
+     */
+    public BlockInteractionRegistry(InteractionManager interactionManager) {
+        this.interactionManager = interactionManager;
+        this.chunkDataContainerKey = new NamespacedKey(interactionManager.getPlugin(), "block_interactions");
+
+        for (World world : interactionManager.getPlugin().getServer().getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks())
+                loadChunk(chunk);
+        }
+    }
+
+    /**
+     * Get the key of the interaction bound to a block. A stale binding (see {@link BlockInteractionRegistry}) is removed.
+     *
+     * @param block The block.
+     * @return The interaction key or {@code null} if no interaction is bound to the block.
+     */
+    @Nullable
+    public String getInteractionKey(@NotNull Block block) {
+        ChunkInteractionIndex index = getIndex(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+        if (index == null) return null;
+
+        ChunkInteractionIndex.Binding binding = index.get(ChunkInteractionIndex.pack(block.getX(), block.getY(), block.getZ()));
+        if (binding == null) return null;
+
+        if (!binding.blockType().equals(block.getType().name())) {
+            unbind(block);
+            return null;
+        }
+
+        return binding.interactionKey();
+    }
+
+    /**
+     * Get the {@link InteractionExecutor} bound to a block.
+     *
+     * @param block The block.
+     * @return The executor or {@code null} if no (registered) interaction is bound to the block.
+     */
+    @Nullable
+    public InteractionExecutor getInteractionExecutor(@NotNull Block block) {
+        String interactionKey = getInteractionKey(block);
+        return interactionKey == null ? null : interactionManager.getInteractionExecutorByKey(interactionKey);
+    }
+
+    /**
+     * Binds an interaction to a block. An interaction which was bound to the block before is replaced.
+     * The binding only stays valid as long as the block keeps its current type.
+     *
+     * @param block          The block.
+     * @param interactionKey The key of the interaction.
+     */
+    public void bind(@NotNull Block block, @NotNull String interactionKey) {
+        Chunk chunk = block.getChunk();
+        ChunkInteractionIndex index = chunkIndices.computeIfAbsent(block.getWorld().getUID(), uid -> new HashMap<>())
+                .computeIfAbsent(chunkKey(chunk.getX(), chunk.getZ()), key -> new ChunkInteractionIndex());
+
+        ChunkInteractionIndex.Binding binding = new ChunkInteractionIndex.Binding(interactionKey, block.getType().name());
+
+        if (!binding.equals(index.put(ChunkInteractionIndex.pack(block.getX(), block.getY(), block.getZ()), binding)))
+            save(chunk, index);
+    }
+
+    /**
+     * Removes the interaction bound to a block.
+     *
+     * @param block The block.
+     * @return The key of the interaction which was bound to the block or {@code null} if none was bound.
+     */
+    @Nullable
+    public String unbind(@NotNull Block block) {
+        int chunkX = block.getX() >> 4;
+        int chunkZ = block.getZ() >> 4;
+        ChunkInteractionIndex index = getIndex(block.getWorld(), chunkX, chunkZ);
+
+        if (index == null) return null;
+
+        ChunkInteractionIndex.Binding binding = index.remove(ChunkInteractionIndex.pack(block.getX(), block.getY(), block.getZ()));
+        if (binding == null) return null;
+
+        save(block.getChunk(), index);
+        if (index.isEmpty())
+            chunkIndices.get(block.getWorld().getUID()).remove(chunkKey(chunkX, chunkZ));
+
+        return binding.interactionKey();
+    }
+
+    /**
+     * Decodes the interactions stored in a chunk into memory. Called when a chunk is loaded.
+     *
+     * @param chunk The loaded chunk.
+     */
+    public void loadChunk(@NotNull Chunk chunk) {
+        byte[] data = chunk.getPersistentDataContainer().get(chunkDataContainerKey, PersistentDataType.BYTE_ARRAY);
+        if (data == null) return;
+
+        ChunkInteractionIndex index;
+
+        try {
+            index = ChunkInteractionIndex.decode(data);
+        } catch (IllegalArgumentException exception) {
+            interactionManager.getPlugin().getLogger().log(Level.WARNING, "Could not load the block interactions of chunk "
+                    + chunk.getX() + ", " + chunk.getZ() + " in world " + chunk.getWorld().getName(), exception);
+            return;
+        }
+
+        if (!index.isEmpty())
+            chunkIndices.computeIfAbsent(chunk.getWorld().getUID(), uid -> new HashMap<>()).put(chunkKey(chunk.getX(), chunk.getZ()), index);
+    }
+
+    /**
+     * Releases the interactions of a chunk from memory. Called when a chunk is unloaded.
+     *
+     * @param chunk The unloaded chunk.
+     */
+    public void unloadChunk(@NotNull Chunk chunk) {
+        HashMap<Long, ChunkInteractionIndex> worldIndices = chunkIndices.get(chunk.getWorld().getUID());
+        if (worldIndices == null) return;
+
+        worldIndices.remove(chunkKey(chunk.getX(), chunk.getZ()));
+        if (worldIndices.isEmpty())
+            chunkIndices.remove(chunk.getWorld().getUID());
+    }
+
+    /**
+     * Releases the interactions of every chunk of a world from memory. Called when a world is unloaded.
+     *
+     * @param world The unloaded world.
+     */
+    public void unloadWorld(@NotNull World world) {
+        chunkIndices.remove(world.getUID());
+    }
+
+    /**
+     * Get the remaining cooldown of a block interaction for a player.
+     *
+     * @param player         The player.
+     * @param interactionKey The key of the interaction.
+     * @return The remaining ticks of the cooldown or {@code 0} if the interaction is not on cooldown.
+     */
+    public int getCooldown(@NotNull Player player, @NotNull String interactionKey) {
+        HashMap<String, Long> playerCooldowns = cooldowns.get(player.getUniqueId());
+        if (playerCooldowns == null) return 0;
+
+        Long expiry = playerCooldowns.get(interactionKey);
+        if (expiry == null) return 0;
+
+        long remaining = expiry - System.currentTimeMillis();
+        if (remaining > 0)
+            return (int) Math.min(Integer.MAX_VALUE, (remaining + MILLIS_PER_TICK - 1) / MILLIS_PER_TICK);
+
+        playerCooldowns.remove(interactionKey);
+        if (playerCooldowns.isEmpty())
+            cooldowns.remove(player.getUniqueId());
+        return 0;
+    }
+
+    /**
+     * Puts a block interaction on cooldown for a player.
+     *
+     * @param player         The player.
+     * @param interactionKey The key of the interaction.
+     * @param ticks          The ticks of the cooldown, {@code 0} removes the cooldown.
+     */
+    public void setCooldown(@NotNull Player player, @NotNull String interactionKey, int ticks) {
+        setCooldownExpiry(player.getUniqueId(), interactionKey, System.currentTimeMillis() + ticks * MILLIS_PER_TICK);
+    }
+
+    /**
+     * Get the cooldowns of block interactions of a player which did not end yet.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @return The times (in milliseconds since the epoch) at which the cooldowns end, mapped by the interaction key.
+     */
+    public Map<String, Long> getCooldownExpiries(@NotNull UUID uuid) {
+        HashMap<String, Long> playerCooldowns = cooldowns.get(uuid);
+        if (playerCooldowns == null) return Collections.emptyMap();
+
+        long now = System.currentTimeMillis();
+        playerCooldowns.values().removeIf(expiry -> expiry <= now);
+        return Collections.unmodifiableMap(playerCooldowns);
+    }
+
+    /**
+     * Sets the time at which the cooldown of a block interaction ends for a player (e.g. when restoring persisted cooldowns).
+     *
+     * @param uuid           The {@link UUID} of the player.
+     * @param interactionKey The key of the interaction.
+     * @param expiry         The time in milliseconds since the epoch. A time in the past removes the cooldown.
+     */
+    public void setCooldownExpiry(@NotNull UUID uuid, @NotNull String interactionKey, long expiry) {
+        if (expiry > System.currentTimeMillis()) {
+            cooldowns.computeIfAbsent(uuid, key -> new HashMap<>()).put(interactionKey, expiry);
+            return;
+        }
+
+        HashMap<String, Long> playerCooldowns = cooldowns.get(uuid);
+        if (playerCooldowns == null) return;
+
+        playerCooldowns.remove(interactionKey);
+        if (playerCooldowns.isEmpty())
+            cooldowns.remove(uuid);
+    }
+
+    /**
+     * Removes every cooldown of block interactions of a player. Called when a player quits.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void clearCooldowns(@NotNull UUID uuid) {
+        cooldowns.remove(uuid);
+    }
+
+    private ChunkInteractionIndex getIndex(World world, int chunkX, int chunkZ) {
+        HashMap<Long, ChunkInteractionIndex> worldIndices = chunkIndices.get(world.getUID());
+        return worldIndices == null ? null : worldIndices.get(chunkKey(chunkX, chunkZ));
+    }
+
+    private void save(Chunk chunk, ChunkInteractionIndex index) {
+        PersistentDataContainer container = chunk.getPersistentDataContainer();
+        if (index.isEmpty())
+            container.remove(chunkDataContainerKey);
+        else
+            container.set(chunkDataContainerKey, PersistentDataType.BYTE_ARRAY, index.encode());
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkZ << 32) | (chunkX & 0xFFFFFFFFL);
+    }
+
+}
@@ -43,7 +43,11 @@ public abstract class HoldDownInteractionExecutor extends InteractionExecutor {
      * @param cooldownInstant    Whether the cooldown should be applied immediately after the interaction triggers.
      *                           If set to false the cooldown has to applied by using the {@link #addCooldown(Player, Material)} method
      * @param actions            The {@link Action}s that should trigger the executor.
+     * @deprecated The executor registers itself before the constructor of the subclass finished, which exposes a
+     * partially initialized instance. Use {@link #HoldDownInteractionExecutor(InteractionManager, InteractionDefinition)}
+     * and register the executor with {@link InteractionManager#registerInteraction(InteractionExecutor)} afterwards.
      */
+    @Deprecated
     public HoldDownInteractionExecutor(@NotNull InteractionManager interactionManager, @NotNull String interactionKey, long holdDownDuration, boolean placeable, int cooldown, boolean cooldownInstant, Action... actions) {
         super(interactionManager, interactionKey, placeable, cooldown, cooldownInstant, actions);
         this.holdDownDuration = holdDownDuration;
@@ -62,7 +66,11 @@ public abstract class HoldDownInteractionExecutor extends InteractionExecutor {
      * @param cooldownInstant    Whether the cooldown should be applied immediately after the interaction triggers.
      *                           If set to false the cooldown has to applied by using the {@link #addCooldown(Player, Material)} method
      * @param actionClass        The {@link ActionClass} that categorizes the {@link Action}s which should trigger the executor.
+     * @deprecated The executor registers itself before the constructor of the subclass finished, which exposes a
+     * partially initialized instance. Use {@link #HoldDownInteractionExecutor(InteractionManager, InteractionDefinition)}
+     * and register the executor with {@link InteractionManager#registerInteraction(InteractionExecutor)} afterwards.
      */
+    @Deprecated
     public HoldDownInteractionExecutor(@NotNull InteractionManager interactionManager, @NotNull String interactionKey, long holdDownDuration, boolean placeable, int cooldown, boolean cooldownInstant, ActionClass actionClass) {
         super(interactionManager, interactionKey, placeable, cooldown, cooldownInstant, actionClass);
         this.holdDownDuration = holdDownDuration;
@@ -79,7 +87,11 @@ public abstract class HoldDownInteractionExecutor extends InteractionExecutor {
      *                           Also affects whether block interactions (e.g. pressing buttons) is possible with the item.
      *                           If set to false the cooldown has to applied by using the {@link #addCooldown(Player, Material)} method
      * @param actions            The {@link Action}s that should trigger the executor.
+     * @deprecated The executor registers itself before the constructor of the subclass finished, which exposes a
+     * partially initialized instance. Use {@link #HoldDownInteractionExecutor(InteractionManager, InteractionDefinition)}
+     * and register the executor with {@link InteractionManager#registerInteraction(InteractionExecutor)} afterwards.
      */
+    @Deprecated
     public HoldDownInteractionExecutor(@NotNull InteractionManager interactionManager, @NotNull String interactionKey, long holdDownDuration, boolean placeable, Action... actions) {
         super(interactionManager, interactionKey, placeable, actions);
         this.holdDownDuration = holdDownDuration;
@@ -96,12 +108,28 @@ public abstract class HoldDownInteractionExecutor extends InteractionExecutor {
      *                           Also affects whether block interactions (e.g. pressing buttons) is possible with the item.
      *                           If set to false the cooldown has to applied by using the {@link #addCooldown(Player, Material)} method
      * @param actionClass        The {@link ActionClass} that categorizes the {@link Action}s which should trigger the executor.
+     * @deprecated The executor registers itself before the constructor of the subclass finished, which exposes a
+     * partially initialized instance. Use {@link #HoldDownInteractionExecutor(InteractionManager, InteractionDefinition)}
+     * and register the executor with {@link InteractionManager#registerInteraction(InteractionExecutor)} afterwards.
      */
+    @Deprecated
     public HoldDownInteractionExecutor(@NotNull InteractionManager interactionManager, @NotNull String interactionKey, long holdDownDuration, boolean placeable, ActionClass actionClass) {
         super(interactionManager, interactionKey, placeable, actionClass);
         this.holdDownDuration = holdDownDuration;
     }
 
+    /**
+     * Create an {@link HoldDownInteractionExecutor} from an {@link InteractionDefinition}.
+     * <strong>The executor is not registered automatically</strong> (see {@link InteractionExecutor#InteractionExecutor(InteractionManager, InteractionDefinition)}).
+     *
+     * @param interactionManager The manager defined in the plugins main class controlling the interactions.
+     * @param definition         The {@link InteractionDefinition} describing the properties of the executor.
+     */
+    protected HoldDownInteractionExecutor(@NotNull InteractionManager interactionManager, @NotNull InteractionDefinition definition) {
+        super(interactionManager, definition);
+        this.holdDownDuration = definition.getHoldDownDuration();
+    }
+
     /**
      * The method which is called every tick which passes after the interaction is triggered for the first time
      * until the interaction is finished or canceled.
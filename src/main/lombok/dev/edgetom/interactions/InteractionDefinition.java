@@ -0,0 +1,137 @@
+package dev.edgetom.interactions;
+
+import lombok.Getter;
+import org.bukkit.event.block.Action;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * <pre>
+ * An immutable description of the properties of an {@link InteractionExecutor}.
+ *
+ * Definitions are used to create executors which are <strong>not</strong> registered inside their own constructor
+ * (e.g. executors which are loaded from a configuration file). The {@link InteractionManager} registers these
+ * executors itself once every executor of a set has been created successfully.
+ * </pre>
+ */
+
+@Getter
+@SuppressWarnings("unused")
+public class InteractionDefinition {
+
+    /**
+     * The entry which is put into the {@link org.bukkit.persistence.PersistentDataContainer} of an item to identify whether
+     * an interaction is linked to it.
+     */
+    @NotNull
+    private final String interactionKey;
+
+    /**
+     * The {@link Action}s at which the executor is triggered.
+     */
+    private final Action[] actions;
+
+    /**
+     * Whether the {@link org.bukkit.inventory.ItemStack} the interacting player is holding in hand is supposed to
+     * be placed on the ground.
+     */
+    private final boolean placeable;
+
+    /**
+     * The ticks the item should be on cooldown after the interaction.
+     */
+    private final int cooldown;
+
+    /**
+     * Whether the {@link #cooldown} time is supposed to be applied instantly after the player interacts.
+     */
+    private final boolean cooldownInstant;
+
+    /**
+     * The amount of ticks the interaction has to be held continuously to be executed.
+     * A value of {@code 0} means that the interaction is executed on the first click.
+     */
+    private final long holdDownDuration;
+
+    /**
+     * Whether the interaction is kept by the block which is created if an item carrying the key is placed.
+     */
+    private final boolean blockBound;
+
+    /**
+     * The names of the {@link InteractionRegion}s in which the interaction is allowed. Empty if it is allowed everywhere.
+     */
+    @NotNull
+    private final Set<String> regions;
+
+    /**
+     * Creates a new {@link InteractionDefinition}.
+     *
+     * @param interactionKey   The key to be put into the {@link org.bukkit.persistence.PersistentDataContainer}
+     *                         of the item to interact with.
+     * @param actions          The {@link Action}s that should trigger the executor.
+     * @param placeable        Whether the {@link org.bukkit.inventory.ItemStack} the player interacts with should be able to be placed.
+     * @param cooldown         The ticks that the interaction should be on cooldown after the interaction. Set {@code 0} for no cooldown.
+     * @param cooldownInstant  Whether the cooldown should be applied immediately after the interaction triggers.
+     * @param holdDownDuration The amount of ticks the interaction has to be held continuously to be executed.
+     *                         Set {@code 0} for an interaction which does not have to be held.
+     * @param blockBound       Whether the interaction is kept by the block which is created if an item carrying the key is placed.
+     * @param regions          The names of the {@link InteractionRegion}s in which the interaction is allowed.
+     *                         Set an empty set to allow the interaction everywhere.
+     */
+    public InteractionDefinition(@NotNull String interactionKey, Action[] actions, boolean placeable, int cooldown,
+                                 boolean cooldownInstant, long holdDownDuration, boolean blockBound, @NotNull Set<String> regions) {
+        this.interactionKey = interactionKey;
+        this.actions = actions;
+        this.placeable = placeable;
+        this.cooldown = cooldown;
+        this.cooldownInstant = cooldownInstant;
+        this.holdDownDuration = holdDownDuration;
+        this.blockBound = blockBound;
+        this.regions = Set.copyOf(regions);
+    }
+
+    /**
+     * Creates a new {@link InteractionDefinition} of an interaction which is allowed everywhere.
+     *
+     * @param interactionKey   The key to be put into the {@link org.bukkit.persistence.PersistentDataContainer}
+     *                         of the item to interact with.
+     * @param actions          The {@link Action}s that should trigger the executor.
+     * @param placeable        Whether the {@link org.bukkit.inventory.ItemStack} the player interacts with should be able to be placed.
+     * @param cooldown         The ticks that the interaction should be on cooldown after the interaction. Set {@code 0} for no cooldown.
+     * @param cooldownInstant  Whether the cooldown should be applied immediately after the interaction triggers.
+     * @param holdDownDuration The amount of ticks the interaction has to be held continuously to be executed.
+     *                         Set {@code 0} for an interaction which does not have to be held.
+     * @param blockBound       Whether the interaction is kept by the block which is created if an item carrying the key is placed.
+     */
+    public InteractionDefinition(@NotNull String interactionKey, Action[] actions, boolean placeable, int cooldown,
+                                 boolean cooldownInstant, long holdDownDuration, boolean blockBound) {
+        this(interactionKey, actions, placeable, cooldown, cooldownInstant, holdDownDuration, blockBound, Set.of());
+    }
+
+    /**
+     * Creates a new {@link InteractionDefinition} of an interaction which is not bound to placed blocks.
+     *
+     * @param interactionKey   The key to be put into the {@link org.bukkit.persistence.PersistentDataContainer}
+     *                         of the item to interact with.
+     * @param actions          The {@link Action}s that should trigger the executor.
+     * @param placeable        Whether the {@link org.bukkit.inventory.ItemStack} the player interacts with should be able to be placed.
+     * @param cooldown         The ticks that the interaction should be on cooldown after the interaction. Set {@code 0} for no cooldown.
+     * @param cooldownInstant  Whether the cooldown should be applied immediately after the interaction triggers.
+     * @param holdDownDuration The amount of ticks the interaction has to be held continuously to be executed.
+     *                         Set {@code 0} for an interaction which does not have to be held.
+     */
+    public InteractionDefinition(@NotNull String interactionKey, Action[] actions, boolean placeable, int cooldown,
+                                 boolean cooldownInstant, long holdDownDuration) {
+        this(interactionKey, actions, placeable, cooldown, cooldownInstant, holdDownDuration, false);
+    }
+
+    /**
+     * @return Whether the definition describes a {@link HoldDownInteractionExecutor}.
+     */
+    public boolean isHoldDown() {
+        return holdDownDuration > 0;
+    }
+
+}
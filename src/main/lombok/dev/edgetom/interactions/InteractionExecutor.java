@@ -3,6 +3,7 @@ package dev.edgetom.interactions;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.Material;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
@@ -11,6 +12,9 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * <pre>
  * An {@link InteractionExecutor} can be used to intercept an interaction of a
@@ -77,6 +81,25 @@ public abstract class InteractionExecutor {
     @Setter
     protected boolean cooldownInstant;
 
+    /**
+     * <pre>
+     * Whether the interaction is kept by the block which is created if a {@link #placeable} item carrying the
+     * {@link #interactionKey} is placed. Clicking on such a block triggers the executor independent of the
+     * item the player is holding.
+     *
+     * Interactions can also be bound to blocks manually by calling {@link #addToBlock(Block)}.
+     * </pre>
+     */
+    @Setter
+    protected boolean blockBound;
+
+    /**
+     * The names of the {@link InteractionRegion}s in which the interaction is allowed. If no region is added
+     * the interaction is allowed everywhere. The regions are registered in the {@link RegionIndex} of the
+     * {@link InteractionManager} and do not have to exist when they are added to the executor.
+     */
+    protected final Set<String> regions = new HashSet<>();
+
     /**
      * Create an {@link InteractionExecutor}.
      *
@@ -89,7 +112,11 @@ public abstract class InteractionExecutor {
      * @param cooldownInstant    Whether the cooldown should be applied immediately after the interaction triggers.
      *                           If set to false the cooldown has to applied by using the {@link #addCooldown(Player, Material)} method
      * @param actions            The {@link Action}s that should trigger the executor.
+     * @deprecated The executor registers itself before the constructor of the subclass finished, which exposes a
+     * partially initialized instance. Use {@link #InteractionExecutor(InteractionManager, InteractionDefinition)} and
+     * register the executor with {@link InteractionManager#registerInteraction(InteractionExecutor)} afterwards.
      */
+    @Deprecated
     public InteractionExecutor(@NotNull InteractionManager interactionManager, @NotNull String interactionKey, boolean placeable,
                                int cooldown, boolean cooldownInstant, Action... actions) {
         this.interactionManager = interactionManager;
@@ -115,7 +142,11 @@ public abstract class InteractionExecutor {
      * @param cooldownInstant    Whether the cooldown should be applied immediately after the interaction triggers.
      *                           If set to false the cooldown has to applied by using the {@link #addCooldown(Player, Material)} method
      * @param actionClass        The {@link ActionClass} that categorizes the {@link Action}s which should trigger the executor.
+     * @deprecated The executor registers itself before the constructor of the subclass finished, which exposes a
+     * partially initialized instance. Use {@link #InteractionExecutor(InteractionManager, InteractionDefinition)} and
+     * register the executor with {@link InteractionManager#registerInteraction(InteractionExecutor)} afterwards.
      */
+    @Deprecated
     public InteractionExecutor(@NotNull InteractionManager interactionManager, @NotNull String interactionKey, boolean placeable, int cooldown,
                                boolean cooldownInstant, ActionClass actionClass) {
         this(interactionManager, interactionKey, placeable, cooldown, cooldownInstant, actionClass.getActions());
@@ -131,7 +162,11 @@ public abstract class InteractionExecutor {
      *                           Also affects whether block interactions (e.g. pressing buttons) is possible with the item.
      *                           If set to false the cooldown has to applied by using the {@link #addCooldown(Player, Material)} method
      * @param actions            The {@link Action}s that should trigger the executor.
+     * @deprecated The executor registers itself before the constructor of the subclass finished, which exposes a
+     * partially initialized instance. Use {@link #InteractionExecutor(InteractionManager, InteractionDefinition)} and
+     * register the executor with {@link InteractionManager#registerInteraction(InteractionExecutor)} afterwards.
      */
+    @Deprecated
     public InteractionExecutor(@NotNull InteractionManager interactionManager, @NotNull String interactionKey, boolean placeable, Action... actions) {
         this(interactionManager, interactionKey, placeable, 0, false, actions);
     }
@@ -147,11 +182,35 @@ public abstract class InteractionExecutor {
      *                           Also affects whether block interactions (e.g. pressing buttons) is possible with the item.
      *                           If set to false the cooldown has to applied by using the {@link #addCooldown(Player, Material)} method
      * @param actionClass        The {@link ActionClass} that categorizes the {@link Action}s which should trigger the executor.
+     * @deprecated The executor registers itself before the constructor of the subclass finished, which exposes a
+     * partially initialized instance. Use {@link #InteractionExecutor(InteractionManager, InteractionDefinition)} and
+     * register the executor with {@link InteractionManager#registerInteraction(InteractionExecutor)} afterwards.
      */
+    @Deprecated
     public InteractionExecutor(@NotNull InteractionManager interactionManager, @NotNull String interactionKey, boolean placeable, ActionClass actionClass) {
         this(interactionManager, interactionKey, placeable, 0, false, actionClass);
     }
 
+    /**
+     * Create an {@link InteractionExecutor} from an {@link InteractionDefinition}.
+     * <strong>In contrast to the other constructors the executor is not registered automatically.</strong>
+     * It has to be registered by the {@link InteractionManager} (or by calling
+     * {@link InteractionManager#registerInteraction(InteractionExecutor)}) after it was created.
+     *
+     * @param interactionManager The manager defined in the plugins main class controlling the interactions.
+     * @param definition         The {@link InteractionDefinition} describing the properties of the executor.
+     */
+    protected InteractionExecutor(@NotNull InteractionManager interactionManager, @NotNull InteractionDefinition definition) {
+        this.interactionManager = interactionManager;
+        this.interactionKey = definition.getInteractionKey();
+        this.placeable = definition.isPlaceable();
+        this.cooldown = definition.getCooldown();
+        this.cooldownInstant = definition.isCooldownInstant();
+        this.blockBound = definition.isBlockBound();
+        this.actions = definition.getActions();
+        this.regions.addAll(definition.getRegions());
+    }
+
     /**
      * The method which is called if a valid interaction with the
      * designated {@link #interactionKey} is detected.
@@ -170,6 +229,35 @@ public abstract class InteractionExecutor {
     public void interactedOnCooldown(PlayerInteractEvent event, Player player) {
     }
 
+    /**
+     * An optional method which can be overwritten to react to the interaction being called outside of the
+     * {@link #regions} it is allowed in (not implemented by default).
+     *
+     * @param event  The triggered {@link PlayerInteractEvent}.
+     * @param player The player responsible for the event.
+     */
+    public void interactedOutsideRegion(PlayerInteractEvent event, Player player) {
+    }
+
+    /**
+     * Allows the interaction inside the {@link InteractionRegion} with the given name.
+     * As soon as a region is added, the interaction is only allowed inside its regions.
+     *
+     * @param regionName The name of the region.
+     */
+    public void addRegion(String regionName) {
+        this.regions.add(regionName);
+    }
+
+    /**
+     * Removes the {@link InteractionRegion} with the given name from the regions the interaction is allowed in.
+     *
+     * @param regionName The name of the region.
+     */
+    public void removeRegion(String regionName) {
+        this.regions.remove(regionName);
+    }
+
     /**
      * Adds the {@link #interactionKey} to the {@link org.bukkit.persistence.PersistentDataContainer}
      * of the given item.
@@ -215,6 +303,27 @@ public abstract class InteractionExecutor {
 
     }
 
+    /**
+     * Binds the {@link #interactionKey} to the given block, so that clicking on the block triggers the executor.
+     * The entry is stored in the {@link org.bukkit.persistence.PersistentDataContainer} of the chunk of the block
+     * and is removed if the block is destroyed.
+     *
+     * @param block The block the key should be bound to.
+     */
+    public void addToBlock(Block block) {
+        this.interactionManager.getBlockInteractions().bind(block, this.interactionKey);
+    }
+
+    /**
+     * Removes the interaction bound to the given block, if it is bound to the {@link #interactionKey} of this executor.
+     *
+     * @param block The block the key should be removed from.
+     */
+    public void removeFromBlock(Block block) {
+        if (this.interactionKey.equals(this.interactionManager.getBlockInteractions().getInteractionKey(block)))
+            this.interactionManager.getBlockInteractions().unbind(block);
+    }
+
     /**
      * Adds the {@link #cooldown} defined in the executor to the given
      * item for the given player.
@@ -224,6 +333,19 @@ public abstract class InteractionExecutor {
      */
     public void addCooldown(Player player, Material material) {
         player.setCooldown(material, this.cooldown);
+
+        if (this.interactionManager.getStateStore() != null)
+            this.interactionManager.getStateStore().trackCooldown(player, material);
+    }
+
+    /**
+     * Adds the {@link #cooldown} defined in the executor to the interaction for the given player, when it is
+     * bound to a block (see {@link BlockInteractionRegistry#setCooldown(Player, String, int)}).
+     *
+     * @param player The player the cooldown should be set for.
+     */
+    public void addBlockCooldown(Player player) {
+        this.interactionManager.getBlockInteractions().setCooldown(player, this.interactionKey, this.cooldown);
     }
 
     /**
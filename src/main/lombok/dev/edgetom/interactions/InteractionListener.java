@@ -2,16 +2,21 @@ package dev.edgetom.interactions;
 
 import dev.edgetom.interactions.utils.HoldDownInteraction;
 import lombok.AllArgsConstructor;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
 
 /**
  * The listener intercepts the {@link PlayerInteractEvent} and executes an {@link InteractionExecutor}
  * if it contains a registered entry in its {@link org.bukkit.persistence.PersistentDataContainer}.
+ * Interactions bound to the clicked block take precedence over the interaction of the item.
  */
 @AllArgsConstructor
 public class InteractionListener implements Listener {
@@ -29,6 +34,14 @@ public class InteractionListener implements Listener {
     @EventHandler
     public void onPlayerInteract(PlayerInteractEvent event) {
 
+        if (event.getClickedBlock() != null && event.getHand() == EquipmentSlot.HAND) {
+            InteractionExecutor blockInteractionExecutor = interactionManager.getBlockInteractions().getInteractionExecutor(event.getClickedBlock());
+
+            // Actions the block does not react to are handled by the interaction of the item
+            if (blockInteractionExecutor != null && handleInteraction(event, blockInteractionExecutor, null))
+                return;
+        }
+
         if (!event.hasItem()) return;
         assert event.getItem() != null;
 
@@ -44,11 +57,37 @@ public class InteractionListener implements Listener {
         InteractionExecutor interactionExecutor = interactionManager.getInteractionExecutorByKey(interactionKey);
 
         if (interactionExecutor == null) return;
-        if (Arrays.stream(interactionExecutor.getActions()).noneMatch(action -> action == event.getAction())) return;
 
-        if (event.getPlayer().getCooldown(event.getMaterial()) > 0) {
+        handleInteraction(event, interactionExecutor, event.getItem().getType());
+
+    }
+
+    /**
+     * Executes an {@link InteractionExecutor} if the action of the event triggers it, the player is inside one of the
+     * regions the interaction is allowed in and the interaction is not on cooldown.
+     *
+     * @param event               The intercepted event
+     * @param interactionExecutor The executor linked to the clicked item or block.
+     * @param material            The type of the clicked item, which the cooldown is applied to, or {@code null} if the
+     *                            executor is bound to the clicked block. In this case the cooldown is applied to the
+     *                            interaction itself (see {@link BlockInteractionRegistry#getCooldown(Player, String)}).
+     * @return Whether the executor reacts to the action of the event, even if it was not executed because the player
+     * is outside its regions or the interaction is on cooldown.
+     */
+    private boolean handleInteraction(PlayerInteractEvent event, InteractionExecutor interactionExecutor, @Nullable Material material) {
+
+        if (Arrays.stream(interactionExecutor.getActions()).noneMatch(action -> action == event.getAction())) return false;
+
+        if (!interactionManager.getRegionIndex().isAllowed(interactionExecutor, event.getPlayer().getLocation())) {
+            if (!interactionExecutor.isPlaceable())
+                event.setCancelled(true);
+            interactionExecutor.interactedOutsideRegion(event, event.getPlayer());
+            return true;
+        }
+
+        if (getCooldown(event.getPlayer(), interactionExecutor, material) > 0) {
             event.setCancelled(true);
-            return;
+            return true;
         }
 
         if (!interactionExecutor.isPlaceable())
@@ -65,13 +104,13 @@ public class InteractionListener implements Listener {
 
                 if (!holdDownInteraction.onClick()) {
                     new HoldDownInteraction(holdDownInteractionExecutor, event.getPlayer());
-                    return;
+                    return true;
                 }
 
                 if (holdDownInteraction.isFinished()) {
                     holdDownInteractionExecutor.execute(event, event.getPlayer());
                     if (holdDownInteractionExecutor.getCooldown() > 0 && holdDownInteractionExecutor.isCooldownInstant())
-                        holdDownInteractionExecutor.addCooldown(event.getPlayer(), event.getItem().getType());
+                        addCooldown(event.getPlayer(), holdDownInteractionExecutor, material);
                     holdDownInteraction.cancel(false);
                 }
 
@@ -81,8 +120,22 @@ public class InteractionListener implements Listener {
             interactionExecutor.execute(event, event.getPlayer());
 
         if (interactionExecutor.getCooldown() > 0 && interactionExecutor.isCooldownInstant())
-            interactionExecutor.addCooldown(event.getPlayer(), event.getItem().getType());
+            addCooldown(event.getPlayer(), interactionExecutor, material);
+
+        return true;
+    }
+
+    private int getCooldown(Player player, InteractionExecutor interactionExecutor, Material material) {
+        return material == null
+                ? interactionManager.getBlockInteractions().getCooldown(player, interactionExecutor.getInteractionKey())
+                : player.getCooldown(material);
+    }
 
+    private void addCooldown(Player player, InteractionExecutor interactionExecutor, Material material) {
+        if (material == null)
+            interactionExecutor.addBlockCooldown(player);
+        else
+            interactionExecutor.addCooldown(player, material);
     }
 
 }
@@ -1,14 +1,37 @@
 package dev.edgetom.interactions;
 
+import dev.edgetom.interactions.annotation.IndexedInteraction;
+import dev.edgetom.interactions.annotation.InteractionIndex;
+import dev.edgetom.interactions.definitions.InteractionDefinitionParser;
+import dev.edgetom.interactions.definitions.InteractionHandler;
+import dev.edgetom.interactions.persistence.InteractionStateListener;
+import dev.edgetom.interactions.persistence.InteractionStateStore;
 import dev.edgetom.interactions.utils.HoldDownInteraction;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.NamespacedKey;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.UUID;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 
 /**
  * The InteractionManager controls the assignment of the interactions that are
@@ -24,16 +47,50 @@ public class InteractionManager {
     private final Plugin plugin;
 
     /**
-     * The unique key which is used for the entries in the {@link org.bukkit.persistence.PersistentDataContainer}
-     * of items which have an InteractionExecutor. The key is generated automatically when initializing this manager.
+     * The key which is used for the entries in the {@link org.bukkit.persistence.PersistentDataContainer}
+     * of items which have an InteractionExecutor. The key is derived from the plugin, so that items keep their
+     * interactions across restarts.
      */
     @Getter
     private final NamespacedKey persistentDataContainerKey;
 
     /**
-     * A {@link HashMap} containing the InteractionExecutors
+     * The name of the key which is used for the entries in the {@link org.bukkit.persistence.PersistentDataContainer} of items.
      */
-    private final HashMap<String, InteractionExecutor> interactions;
+    public static final String PERSISTENT_DATA_CONTAINER_KEY = "interaction";
+
+    /**
+     * The name of the section in a definition file which contains the interaction definitions.
+     */
+    public static final String DEFINITIONS_SECTION = "interactions";
+
+    /**
+     * A {@link HashMap} containing the InteractionExecutors.
+     * The map is never modified. Every change (e.g. registering an executor or reloading the interaction definitions)
+     * replaces the whole map at once on the main thread.
+     */
+    private volatile HashMap<String, InteractionExecutor> interactions;
+
+    /**
+     * The {@link IndexedInteraction}s whose executors were not created yet, mapped by their interaction key.
+     * An executor is created and moved to {@link #interactions} when its interaction is used for the first time.
+     */
+    private final LinkedHashMap<String, IndexedInteraction> indexedInteractions = new LinkedHashMap<>();
+
+    /**
+     * The keys of the interactions in {@link #interactions} which were created from definitions.
+     */
+    private Set<String> definedInteractionKeys = new HashSet<>();
+
+    /**
+     * The {@link InteractionHandler}s which can be referenced by interaction definitions, mapped by their name.
+     */
+    private final Map<String, InteractionHandler> handlers = new ConcurrentHashMap<>();
+
+    /**
+     * Counts the requested reloads of the interaction definitions, so that only the result of the latest reload is applied.
+     */
+    private final AtomicInteger reloadGeneration = new AtomicInteger();
 
 
     /**
@@ -52,6 +109,32 @@ public class InteractionManager {
     @Getter
     private final HashMap<Player, HoldDownInteraction> holdDownInteractions;
 
+    /**
+     * The {@link BlockInteractionRegistry} containing the interactions which are bound to placed blocks.
+     */
+    @Getter
+    private final BlockInteractionRegistry blockInteractions;
+
+    /**
+     * The {@link RegionIndex} containing the {@link InteractionRegion}s the interactions can be restricted to.
+     */
+    @Getter
+    private final RegionIndex regionIndex = new RegionIndex();
+
+    /**
+     * The {@link InventoryScanner} which locates and re-tags the items of interactions in the inventories of the players.
+     */
+    @Getter
+    private final InventoryScanner inventoryScanner = new InventoryScanner(this);
+
+    /**
+     * The {@link InteractionStateStore} persisting the cooldowns and hold down interactions of the players,
+     * or {@code null} if the persistence is not enabled (see {@link #enablePersistence(File, boolean)}).
+     */
+    @Getter
+    @Nullable
+    private InteractionStateStore stateStore;
+
     /**
      * Creates a new {@link InteractionManager}.
      *
@@ -59,10 +142,12 @@ public class InteractionManager {
      */
     public InteractionManager(Plugin plugin) {
         this.plugin = plugin;
-        this.persistentDataContainerKey = new NamespacedKey(plugin, UUID.randomUUID().toString().toLowerCase());
+        this.persistentDataContainerKey = new NamespacedKey(plugin, PERSISTENT_DATA_CONTAINER_KEY);
         this.interactions = new HashMap<>();
         this.holdDownInteractions = new HashMap<>();
+        this.blockInteractions = new BlockInteractionRegistry(this);
         plugin.getServer().getPluginManager().registerEvents(new InteractionListener(this), plugin);
+        plugin.getServer().getPluginManager().registerEvents(new BlockInteractionListener(this), plugin);
     }
 
     /**
@@ -77,10 +162,12 @@ public class InteractionManager {
     public InteractionManager(Plugin plugin, long holdDownEventTriggerTicks) {
         this.plugin = plugin;
         this.holdDownEventTriggerTicks = holdDownEventTriggerTicks;
-        this.persistentDataContainerKey = new NamespacedKey(plugin, UUID.randomUUID().toString().toLowerCase());
+        this.persistentDataContainerKey = new NamespacedKey(plugin, PERSISTENT_DATA_CONTAINER_KEY);
         this.interactions = new HashMap<>();
         this.holdDownInteractions = new HashMap<>();
+        this.blockInteractions = new BlockInteractionRegistry(this);
         plugin.getServer().getPluginManager().registerEvents(new InteractionListener(this), plugin);
+        plugin.getServer().getPluginManager().registerEvents(new BlockInteractionListener(this), plugin);
     }
 
     /**
@@ -89,18 +176,85 @@ public class InteractionManager {
      *
      * @param key The key which assigns items to the interaction
      * @return The {@link InteractionExecutor} associated with the key
+     * @throws IllegalStateException If the executor of an {@link IndexedInteraction} could not be created.
+     *                               The creation is attempted again on the next call.
      */
     public InteractionExecutor getInteractionExecutorByKey(String key) {
-        return interactions.get(key);
+        InteractionExecutor executor = interactions.get(key);
+
+        if (executor == null && !indexedInteractions.isEmpty()) {
+            IndexedInteraction indexedInteraction = indexedInteractions.get(key);
+            if (indexedInteraction == null) return null;
+
+            try {
+                executor = indexedInteraction.getFactory().create(this, indexedInteraction.getDefinition());
+            } catch (RuntimeException exception) {
+                plugin.getLogger().log(Level.SEVERE, "Could not create the executor of the interaction '" + key + "'", exception);
+                throw new IllegalStateException("Could not create the executor of the interaction '" + key + "'", exception);
+            }
+
+            HashMap<String, InteractionExecutor> updatedInteractions = new HashMap<>(interactions);
+            updatedInteractions.put(key, executor);
+            this.interactions = updatedInteractions;
+            indexedInteractions.remove(key);
+        }
+
+        return executor;
+    }
+
+    /**
+     * Registers every interaction of an {@link InteractionIndex}. The executors are only created when their
+     * interaction is used for the first time (e.g. by calling {@link #getInteractionExecutorByKey(String)}).
+     *
+     * @param index The index to register.
+     * @return The amount of registered interactions.
+     * @throws IllegalArgumentException If an interaction key of the index is already used. In this case none of the
+     *                                  interactions of the index is registered.
+     */
+    public int registerIndex(@NotNull InteractionIndex index) {
+        List<IndexedInteraction> indexed = index.getInteractions();
+
+        for (IndexedInteraction indexedInteraction : indexed) {
+            String interactionKey = indexedInteraction.getDefinition().getInteractionKey();
+            if (interactions.containsKey(interactionKey) || indexedInteractions.containsKey(interactionKey))
+                throw new IllegalArgumentException("The interaction key '" + interactionKey + "' is already used by a registered executor!");
+        }
+
+        for (IndexedInteraction indexedInteraction : indexed)
+            indexedInteractions.put(indexedInteraction.getDefinition().getInteractionKey(), indexedInteraction);
+
+        return indexed.size();
+    }
+
+    /**
+     * Registers the interactions of every {@link InteractionIndex} generated for the plugin by the
+     * {@link dev.edgetom.interactions.annotation.InteractionProcessor} (see {@link #registerIndex(InteractionIndex)}).
+     *
+     * @return The amount of registered interactions.
+     */
+    public int registerIndexedInteractions() {
+        int amount = 0;
+        for (InteractionIndex index : ServiceLoader.load(InteractionIndex.class, plugin.getClass().getClassLoader()))
+            amount += registerIndex(index);
+        return amount;
     }
 
     /**
      * Registers an {@link InteractionExecutor} so that it can be called.
+     * An executor which was registered manually with the same key before is replaced.
      *
      * @param executor The executor to register
+     * @throws IllegalArgumentException If the interaction key is used by an {@link IndexedInteraction} or an interaction
+     *                                  created from a definition.
      */
     public void registerInteraction(InteractionExecutor executor) {
-        interactions.put(executor.getInteractionKey(), executor);
+        String interactionKey = executor.getInteractionKey();
+        if (indexedInteractions.containsKey(interactionKey) || definedInteractionKeys.contains(interactionKey))
+            throw new IllegalArgumentException("The interaction key '" + interactionKey + "' is already used by a registered executor!");
+
+        HashMap<String, InteractionExecutor> updatedInteractions = new HashMap<>(interactions);
+        updatedInteractions.put(interactionKey, executor);
+        this.interactions = updatedInteractions;
     }
 
 
@@ -110,7 +264,217 @@ public class InteractionManager {
      * @param executor The executor to unregister.
      */
     public void unregisterInteraction(InteractionExecutor executor) {
-        interactions.remove(executor.getInteractionKey());
+        if (!interactions.containsKey(executor.getInteractionKey())) return;
+
+        HashMap<String, InteractionExecutor> updatedInteractions = new HashMap<>(interactions);
+        updatedInteractions.remove(executor.getInteractionKey());
+        this.interactions = updatedInteractions;
+    }
+
+    /**
+     * Unregisters the interaction with the given key, including {@link IndexedInteraction}s whose executor was not created yet.
+     *
+     * @param key The key of the interaction to unregister.
+     */
+    public void unregisterInteraction(String key) {
+        indexedInteractions.remove(key);
+        if (!interactions.containsKey(key)) return;
+
+        HashMap<String, InteractionExecutor> updatedInteractions = new HashMap<>(interactions);
+        updatedInteractions.remove(key);
+        this.interactions = updatedInteractions;
+    }
+
+    /**
+     * <pre>
+     * Enables the persistence of the cooldowns applied by the executors and optionally of the progress of hold down
+     * interactions, so that they survive players leaving, restarts and reloads.
+     *
+     * The states are loaded from the given file and restored when the players join. {@link InteractionStateStore#save()}
+     * has to be called to write the states to the file, at least when the plugin is disabled.
+     * </pre>
+     *
+     * @param file         The file the states are saved to.
+     * @param persistHolds Whether the progress of hold down interactions is persisted in addition to the cooldowns.
+     * @return The created {@link InteractionStateStore}.
+     * @throws IOException           If the file exists but cannot be read.
+     * @throws IllegalStateException If the persistence is already enabled.
+     */
+    public InteractionStateStore enablePersistence(@NotNull File file, boolean persistHolds) throws IOException {
+        if (stateStore != null)
+            throw new IllegalStateException("The persistence is already enabled!");
+
+        stateStore = new InteractionStateStore(this, file.toPath(), persistHolds);
+        plugin.getServer().getPluginManager().registerEvents(new InteractionStateListener(stateStore), plugin);
+
+        for (Player player : plugin.getServer().getOnlinePlayers())
+            stateStore.restore(player);
+
+        return stateStore;
+    }
+
+    /**
+     * Registers an {@link InteractionHandler} so that it can be referenced by interaction definitions.
+     * Handlers have to be registered before the definitions referencing them are loaded.
+     *
+     * @param name    The name the handler is referenced by in the definitions.
+     * @param handler The handler to register.
+     */
+    public void registerHandler(@NotNull String name, @NotNull InteractionHandler handler) {
+        handlers.put(name, handler);
+    }
+
+    /**
+     * Unregisters an {@link InteractionHandler}. Interactions which were already loaded keep using the handler
+     * until the definitions are reloaded.
+     *
+     * @param name The name of the handler to unregister.
+     */
+    public void unregisterHandler(@NotNull String name) {
+        handlers.remove(name);
+    }
+
+    /**
+     * Get an {@link InteractionHandler} by the name it was registered with.
+     *
+     * @param name The name of the handler.
+     * @return The handler or {@code null} if no handler is registered with the name.
+     */
+    @Nullable
+    public InteractionHandler getHandler(@NotNull String name) {
+        return handlers.get(name);
+    }
+
+    /**
+     * Loads the interaction definitions of the given section (see {@link InteractionDefinitionParser})
+     * and replaces all previously loaded definitions. Has to be called from the main thread.
+     *
+     * @param section The section containing one child section per interaction.
+     * @return The amount of loaded interactions.
+     * @throws IllegalArgumentException If a definition is invalid or uses the key of an interaction which was not created
+     *                                  from a definition. In this case none of the definitions is applied.
+     */
+    public int loadDefinitions(@NotNull ConfigurationSection section) {
+        Map<String, InteractionExecutor> executors = InteractionDefinitionParser.parse(this, section);
+        swapDefinitions(executors);
+        updateHoldDownInteractions();
+        return executors.size();
+    }
+
+    /**
+     * <pre>
+     * Reloads the interaction definitions from the {@value #DEFINITIONS_SECTION} section of the given YAML file.
+     *
+     * The file is read and validated in an asynchronous task. If every definition is valid, the new executors
+     * replace the previously loaded definitions in one step on the main thread, so that every
+     * {@link org.bukkit.event.player.PlayerInteractEvent} is handled either completely by the old or completely
+     * by the new definitions. Running hold down interactions are bound to the new executor with the same key and
+     * cooldowns are kept, since they are stored per player.
+     * If a newer reload is requested before this one is applied, the returned future is cancelled.
+     * </pre>
+     *
+     * @param file The YAML file containing the definitions.
+     * @return A future which completes with the amount of loaded interactions, or exceptionally if the file could not be
+     * read or a definition is invalid. In this case the previously loaded definitions stay active.
+     */
+    public CompletableFuture<Integer> reloadDefinitions(@NotNull File file) {
+
+        int generation = reloadGeneration.incrementAndGet();
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+
+            Map<String, InteractionExecutor> executors;
+
+            try {
+                YamlConfiguration configuration = new YamlConfiguration();
+                configuration.load(file);
+
+                ConfigurationSection section = configuration.getConfigurationSection(DEFINITIONS_SECTION);
+                if (section == null)
+                    throw new IllegalArgumentException("The file " + file.getName() + " does not contain a '" + DEFINITIONS_SECTION + "' section!");
+
+                executors = InteractionDefinitionParser.parse(this, section);
+            } catch (IOException | InvalidConfigurationException | RuntimeException exception) {
+                future.completeExceptionally(exception);
+                return;
+            }
+
+            try {
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+
+                    if (generation != reloadGeneration.get()) {
+                        future.cancel(false);
+                        return;
+                    }
+
+                    try {
+                        swapDefinitions(executors);
+                    } catch (RuntimeException exception) {
+                        future.completeExceptionally(exception);
+                        return;
+                    }
+
+                    future.complete(executors.size());
+                    updateHoldDownInteractions();
+                });
+            } catch (RuntimeException exception) {
+                // The plugin was disabled while the file was read
+                future.completeExceptionally(exception);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Replaces the interactions created from definitions with the given executors in one step.
+     * {@link #updateHoldDownInteractions()} has to be called afterwards.
+     *
+     * @param executors The new executors mapped by their interaction key.
+     * @throws IllegalArgumentException If an interaction key is already used by an executor which was not created from a
+     *                                  definition. In this case nothing is replaced.
+     */
+    private void swapDefinitions(Map<String, InteractionExecutor> executors) {
+
+        HashMap<String, InteractionExecutor> updatedInteractions = new HashMap<>(interactions);
+        updatedInteractions.keySet().removeAll(definedInteractionKeys);
+
+        for (String interactionKey : executors.keySet()) {
+            if (updatedInteractions.containsKey(interactionKey) || indexedInteractions.containsKey(interactionKey))
+                throw new IllegalArgumentException("The interaction key '" + interactionKey + "' is already used by a registered executor!");
+        }
+
+        updatedInteractions.putAll(executors);
+
+        this.interactions = updatedInteractions;
+        this.definedInteractionKeys = new HashSet<>(executors.keySet());
+    }
+
+    /**
+     * Binds the running {@link HoldDownInteraction}s to the executors which are currently registered with their
+     * interaction key and cancels those whose interaction was removed. An exception thrown while cancelling an
+     * interaction is logged, so that the remaining interactions are still updated.
+     */
+    private void updateHoldDownInteractions() {
+
+        for (HoldDownInteraction holdDownInteraction : new ArrayList<>(holdDownInteractions.values())) {
+
+            InteractionExecutor replacement = interactions.get(holdDownInteraction.getInteractionExecutor().getInteractionKey());
+
+            if (replacement == holdDownInteraction.getInteractionExecutor()) continue;
+
+            try {
+                if (replacement instanceof HoldDownInteractionExecutor holdDownInteractionExecutor)
+                    holdDownInteraction.rebind(holdDownInteractionExecutor);
+                else
+                    holdDownInteraction.cancel(true);
+            } catch (RuntimeException exception) {
+                plugin.getLogger().log(Level.WARNING, "Could not update the hold down interaction '"
+                        + holdDownInteraction.getInteractionExecutor().getInteractionKey() + "' of "
+                        + holdDownInteraction.getPlayer().getName(), exception);
+            }
+        }
     }
 
 }
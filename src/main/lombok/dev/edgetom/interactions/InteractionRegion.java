@@ -0,0 +1,111 @@
+package dev.edgetom.interactions;
+
+import lombok.Getter;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A cuboid region of a world in which interactions can be allowed (see {@link InteractionExecutor#addRegion(String)}).
+ * The bounds are block coordinates and both corners are part of the region.
+ */
+
+@Getter
+@SuppressWarnings("unused")
+public class InteractionRegion {
+
+    /**
+     * The unique name of the region which is used to reference it in the {@link InteractionExecutor}s.
+     */
+    @NotNull
+    private final String name;
+
+    /**
+     * The {@link UUID} of the world the region is located in.
+     */
+    @NotNull
+    private final UUID worldId;
+
+    /**
+     * The lowest x coordinate of the blocks of the region.
+     */
+    private final int minX;
+
+    /**
+     * The lowest y coordinate of the blocks of the region.
+     */
+    private final int minY;
+
+    /**
+     * The lowest z coordinate of the blocks of the region.
+     */
+    private final int minZ;
+
+    /**
+     * The highest x coordinate of the blocks of the region.
+     */
+    private final int maxX;
+
+    /**
+     * The highest y coordinate of the blocks of the region.
+     */
+    private final int maxY;
+
+    /**
+     * The highest z coordinate of the blocks of the region.
+     */
+    private final int maxZ;
+
+    /**
+     * Creates a new {@link InteractionRegion}. The corners can be given in any order.
+     *
+     * @param name  The unique name of the region.
+     * @param world The world the region is located in.
+     * @param x1    The x coordinate of the first corner.
+     * @param y1    The y coordinate of the first corner.
+     * @param z1    The z coordinate of the first corner.
+     * @param x2    The x coordinate of the second corner.
+     * @param y2    The y coordinate of the second corner.
+     * @param z2    The z coordinate of the second corner.
+     */
+    public InteractionRegion(@NotNull String name, @NotNull World world, int x1, int y1, int z1, int x2, int y2, int z2) {
+        this.name = name;
+        this.worldId = world.getUID();
+        this.minX = Math.min(x1, x2);
+        this.minY = Math.min(y1, y2);
+        this.minZ = Math.min(z1, z2);
+        this.maxX = Math.max(x1, x2);
+        this.maxY = Math.max(y1, y2);
+        this.maxZ = Math.max(z1, z2);
+    }
+
+    /**
+     * Creates a new {@link InteractionRegion} spanning between the blocks of two locations in the same world.
+     *
+     * @param name    The unique name of the region.
+     * @param corner1 The first corner.
+     * @param corner2 The second corner.
+     */
+    public InteractionRegion(@NotNull String name, @NotNull Location corner1, @NotNull Location corner2) {
+        this(name, Objects.requireNonNull(corner1.getWorld(), "The corners must have a world"),
+                corner1.getBlockX(), corner1.getBlockY(), corner1.getBlockZ(),
+                corner2.getBlockX(), corner2.getBlockY(), corner2.getBlockZ());
+
+        if (!worldId.equals(Objects.requireNonNull(corner2.getWorld(), "The corners must have a world").getUID()))
+            throw new IllegalArgumentException("The corners of a region must be located in the same world!");
+    }
+
+    /**
+     * @param x The x coordinate of the block.
+     * @param y The y coordinate of the block.
+     * @param z The z coordinate of the block.
+     * @return Whether the block is part of the region. The world is not checked.
+     */
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+}
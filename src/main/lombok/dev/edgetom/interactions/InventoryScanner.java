@@ -0,0 +1,237 @@
+package dev.edgetom.interactions;
+
+import dev.edgetom.interactions.utils.RepeatingTask;
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * <pre>
+ * The InventoryScanner locates and re-tags the items of a specific interaction in the inventories of the online players.
+ *
+ * A scan is spread over multiple ticks. Each tick the inventories are processed slot by slot until the
+ * {@link #tickBudgetNanos} is used up, so that even large scans do not stall the server. Slots which are empty
+ * or contain items without an {@link ItemMeta} are skipped without reading their meta, since they cannot carry an
+ * interaction key. The meta of a matching item is read and written at most once. The inventories of players who
+ * quit during a scan are skipped.
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public class InventoryScanner {
+
+    /**
+     * The {@link InteractionManager} the scanner belongs to.
+     */
+    private final InteractionManager interactionManager;
+
+    /**
+     * The time in nanoseconds a scan may spend per tick (default is 2 milliseconds).
+     */
+    @Getter
+    @Setter
+    private long tickBudgetNanos = 2_000_000;
+
+    /**
+     * Whether the ender chests of the players are scanned in addition to their inventories (default is {@code true}).
+     */
+    @Getter
+    @Setter
+    private boolean includeEnderChests = true;
+
+    /**
+     * Creates a new {@link InventoryScanner}.
+     *
+     * @param interactionManager The {@link InteractionManager} the scanner belongs to.
+     */
+    public InventoryScanner(InteractionManager interactionManager) {
+        this.interactionManager = interactionManager;
+    }
+
+    /**
+     * Locates every item carrying the given interaction key in the inventories of the players which are online
+     * when the scan starts.
+     *
+     * @param interactionKey The interaction key to search for.
+     * @param callback       Called on the main thread for every item found.
+     * @return A future which completes with the amount of items found once every inventory was scanned.
+     * Cancelling the future stops the scan.
+     */
+    public CompletableFuture<Integer> scan(@NotNull String interactionKey, @NotNull Consumer<InventoryScanMatch> callback) {
+        return start(interactionKey, false, null, callback);
+    }
+
+    /**
+     * Replaces the given interaction key on every item of the players which are online when the scan starts.
+     *
+     * @param interactionKey The interaction key to replace.
+     * @param replacementKey The new interaction key, or {@code null} to remove the interaction from the items.
+     * @param callback       Called on the main thread for every rewritten item, or {@code null}.
+     * @return A future which completes with the amount of rewritten items once every inventory was scanned.
+     * Cancelling the future stops the rewrite, items which were already rewritten keep the new key.
+     */
+    public CompletableFuture<Integer> rewrite(@NotNull String interactionKey, @Nullable String replacementKey,
+                                              @Nullable Consumer<InventoryScanMatch> callback) {
+        return start(interactionKey, true, replacementKey, callback);
+    }
+
+    /**
+     * Removes the given interaction key from every item of the players which are online when the scan starts.
+     *
+     * @param interactionKey The interaction key to remove.
+     * @return A future which completes with the amount of modified items once every inventory was scanned.
+     */
+    public CompletableFuture<Integer> strip(@NotNull String interactionKey) {
+        return rewrite(interactionKey, null, null);
+    }
+
+    private CompletableFuture<Integer> start(String interactionKey, boolean rewrite, String replacementKey, Consumer<InventoryScanMatch> callback) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        ScanState state = new ScanState(interactionKey, rewrite, replacementKey, callback, future,
+                new ArrayDeque<>(interactionManager.getPlugin().getServer().getOnlinePlayers()));
+
+        new RepeatingTask(interactionManager.getPlugin(), 1, task -> {
+            if (future.isDone()) {
+                task.cancel();
+                return;
+            }
+
+            try {
+                if (state.process(System.nanoTime() + tickBudgetNanos)) {
+                    task.cancel();
+                    future.complete(state.matches);
+                }
+            } catch (RuntimeException exception) {
+                task.cancel();
+                future.completeExceptionally(exception);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * The progress of a running scan.
+     */
+    private class ScanState {
+
+        private final String interactionKey;
+        private final boolean rewrite;
+        private final String replacementKey;
+        private final Consumer<InventoryScanMatch> callback;
+        private final CompletableFuture<Integer> future;
+        private final Deque<Player> players;
+
+        private final List<Inventory> inventories = new ArrayList<>(2);
+        private Player player;
+        private Inventory inventory;
+        private int size;
+        private int slot;
+        private int matches;
+
+        private ScanState(String interactionKey, boolean rewrite, String replacementKey, Consumer<InventoryScanMatch> callback,
+                          CompletableFuture<Integer> future, Deque<Player> players) {
+            this.interactionKey = interactionKey;
+            this.rewrite = rewrite;
+            this.replacementKey = replacementKey;
+            this.callback = callback;
+            this.future = future;
+            this.players = players;
+        }
+
+        /**
+         * Processes slots until the deadline is reached.
+         *
+         * @param deadline The {@link System#nanoTime()} at which the processing has to pause.
+         * @return Whether every inventory was scanned.
+         */
+        private boolean process(long deadline) {
+            do {
+                // The inventories of players who quit during the scan were already saved, changes would be lost
+                if (inventory != null && !player.isOnline()) {
+                    inventory = null;
+                    inventories.clear();
+                }
+
+                if (inventory == null || slot >= size) {
+                    if (!nextInventory()) return true;
+                    continue;
+                }
+
+                processSlot(slot++);
+            } while (System.nanoTime() < deadline && !future.isDone());
+
+            return false;
+        }
+
+        private boolean nextInventory() {
+            while (inventories.isEmpty()) {
+                player = players.poll();
+                if (player == null) return false;
+                if (!player.isOnline()) continue;
+
+                inventories.add(player.getInventory());
+                if (includeEnderChests)
+                    inventories.add(player.getEnderChest());
+            }
+
+            inventory = inventories.remove(0);
+            size = inventory.getSize();
+            slot = 0;
+            return true;
+        }
+
+        private void processSlot(int slot) {
+            ItemStack itemStack = inventory.getItem(slot);
+            if (itemStack == null || itemStack.getType().isAir() || !itemStack.hasItemMeta()) return;
+
+            ItemMeta itemMeta = itemStack.getItemMeta();
+            assert itemMeta != null;
+
+            PersistentDataContainer container = itemMeta.getPersistentDataContainer();
+            if (!interactionKey.equals(container.get(interactionManager.getPersistentDataContainerKey(), PersistentDataType.STRING)))
+                return;
+
+            matches++;
+
+            if (rewrite) {
+                if (replacementKey == null)
+                    container.remove(interactionManager.getPersistentDataContainerKey());
+                else
+                    container.set(interactionManager.getPersistentDataContainerKey(), PersistentDataType.STRING, replacementKey);
+
+                itemStack.setItemMeta(itemMeta);
+                inventory.setItem(slot, itemStack);
+            }
+
+            if (callback != null)
+                callback.accept(new InventoryScanMatch(player, inventory, slot, itemStack));
+        }
+
+    }
+
+    /**
+     * An item which was found by a scan.
+     *
+     * @param player    The player owning the inventory.
+     * @param inventory The inventory containing the item.
+     * @param slot      The slot of the item in the inventory.
+     * @param itemStack The item. If the scan rewrites the items, this is the already rewritten item.
+     */
+    public record InventoryScanMatch(Player player, Inventory inventory, int slot, ItemStack itemStack) {
+    }
+
+}
@@ -0,0 +1,242 @@
+package dev.edgetom.interactions;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * <pre>
+ * The RegionIndex contains the {@link InteractionRegion}s which can be used to restrict where interactions are allowed.
+ *
+ * The regions of every world are sorted into grids of columns. The columns of the finest grid are {@value #CELL_SIZE}
+ * blocks wide, every following level of the grid has {@value #LEVEL_FACTOR} times wider columns. A region is sorted
+ * into the finest level on which it overlaps at most {@value #MAX_REGION_CELLS} columns, so that the memory and time
+ * needed to register a region do not grow with its area. To check whether a location is inside a region only the
+ * regions overlapping the column of the location on each used level have to be checked, independent of how many
+ * regions and executors are registered in total.
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public class RegionIndex {
+
+    /**
+     * The width of the columns of the finest grid level in blocks.
+     */
+    public static final int CELL_SIZE = 32;
+
+    /**
+     * The factor by which the width of the columns grows from one grid level to the next.
+     */
+    public static final int LEVEL_FACTOR = 16;
+
+    /**
+     * The maximal amount of columns a region may overlap on a grid level to be sorted into it.
+     */
+    public static final int MAX_REGION_CELLS = 256;
+
+    /**
+     * The amount of grid levels. The columns of the last level are wide enough for regions spanning every possible
+     * block coordinate to overlap at most {@value #MAX_REGION_CELLS} columns.
+     */
+    private static final int LEVELS = 7;
+
+    private static final int CELL_SHIFT = Integer.numberOfTrailingZeros(CELL_SIZE);
+
+    private static final int LEVEL_SHIFT = Integer.numberOfTrailingZeros(LEVEL_FACTOR);
+
+    private static final InteractionRegion[] NO_REGIONS = new InteractionRegion[0];
+
+    /**
+     * The registered regions mapped by their name.
+     */
+    private final HashMap<String, InteractionRegion> regions = new HashMap<>();
+
+    /**
+     * The grids of the worlds containing regions, mapped by the world.
+     */
+    private final HashMap<UUID, WorldGrid> grids = new HashMap<>();
+
+    /**
+     * Registers a region. A region which was registered with the same name before is replaced.
+     *
+     * @param region The region to register.
+     */
+    public void registerRegion(@NotNull InteractionRegion region) {
+        unregisterRegion(region.getName());
+        regions.put(region.getName(), region);
+
+        WorldGrid grid = grids.computeIfAbsent(region.getWorldId(), uid -> new WorldGrid());
+        int level = levelOf(region);
+        int shift = shift(level);
+        grid.regionCounts[level]++;
+
+        for (int cellX = region.getMinX() >> shift; cellX <= region.getMaxX() >> shift; cellX++) {
+            for (int cellZ = region.getMinZ() >> shift; cellZ <= region.getMaxZ() >> shift; cellZ++) {
+                long cellKey = cellKey(level, cellX, cellZ);
+                InteractionRegion[] cell = grid.cells.getOrDefault(cellKey, NO_REGIONS);
+                InteractionRegion[] updatedCell = Arrays.copyOf(cell, cell.length + 1);
+                updatedCell[cell.length] = region;
+                grid.cells.put(cellKey, updatedCell);
+            }
+        }
+    }
+
+    /**
+     * Unregisters a region.
+     *
+     * @param name The name of the region.
+     * @return The unregistered region or {@code null} if no region is registered with the name.
+     */
+    @Nullable
+    public InteractionRegion unregisterRegion(@NotNull String name) {
+        InteractionRegion region = regions.remove(name);
+        if (region == null) return null;
+
+        WorldGrid grid = grids.get(region.getWorldId());
+        int level = levelOf(region);
+        int shift = shift(level);
+        grid.regionCounts[level]--;
+
+        for (int cellX = region.getMinX() >> shift; cellX <= region.getMaxX() >> shift; cellX++) {
+            for (int cellZ = region.getMinZ() >> shift; cellZ <= region.getMaxZ() >> shift; cellZ++) {
+                long cellKey = cellKey(level, cellX, cellZ);
+                InteractionRegion[] updatedCell = Arrays.stream(grid.cells.get(cellKey))
+                        .filter(cellRegion -> cellRegion != region).toArray(InteractionRegion[]::new);
+
+                if (updatedCell.length == 0)
+                    grid.cells.remove(cellKey);
+                else
+                    grid.cells.put(cellKey, updatedCell);
+            }
+        }
+
+        if (grid.cells.isEmpty())
+            grids.remove(region.getWorldId());
+
+        return region;
+    }
+
+    /**
+     * Get a region by its name.
+     *
+     * @param name The name of the region.
+     * @return The region or {@code null} if no region is registered with the name.
+     */
+    @Nullable
+    public InteractionRegion getRegion(@NotNull String name) {
+        return regions.get(name);
+    }
+
+    /**
+     * @return Every registered region.
+     */
+    public Collection<InteractionRegion> getRegions() {
+        return Collections.unmodifiableCollection(regions.values());
+    }
+
+    /**
+     * Get every region containing a location.
+     *
+     * @param location The location.
+     * @return The regions containing the location.
+     */
+    public List<InteractionRegion> getRegionsAt(@NotNull Location location) {
+        List<InteractionRegion> result = new ArrayList<>();
+        WorldGrid grid = getGrid(location);
+        if (grid == null) return result;
+
+        for (int level = 0; level < LEVELS; level++) {
+            for (InteractionRegion region : grid.getCell(level, location)) {
+                if (region.contains(location.getBlockX(), location.getBlockY(), location.getBlockZ()))
+                    result.add(region);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks whether an {@link InteractionExecutor} may be executed at a location.
+     *
+     * @param interactionExecutor The executor.
+     * @param location            The location of the interacting player.
+     * @return Whether the executor is not restricted to any region or the location is inside one of its regions.
+     */
+    public boolean isAllowed(@NotNull InteractionExecutor interactionExecutor, @NotNull Location location) {
+        Set<String> allowedRegions = interactionExecutor.getRegions();
+        if (allowedRegions.isEmpty()) return true;
+
+        WorldGrid grid = getGrid(location);
+        if (grid == null) return false;
+
+        for (int level = 0; level < LEVELS; level++) {
+            for (InteractionRegion region : grid.getCell(level, location)) {
+                if (allowedRegions.contains(region.getName())
+                        && region.contains(location.getBlockX(), location.getBlockY(), location.getBlockZ()))
+                    return true;
+            }
+        }
+
+        return false;
+    }
+
+    private WorldGrid getGrid(Location location) {
+        World world = location.getWorld();
+        return world == null ? null : grids.get(world.getUID());
+    }
+
+    private static int levelOf(InteractionRegion region) {
+        for (int level = 0; level < LEVELS - 1; level++) {
+            int shift = shift(level);
+            long cellsX = (region.getMaxX() >> shift) - (region.getMinX() >> shift) + 1L;
+            long cellsZ = (region.getMaxZ() >> shift) - (region.getMinZ() >> shift) + 1L;
+            if (cellsX * cellsZ <= MAX_REGION_CELLS) return level;
+        }
+
+        return LEVELS - 1;
+    }
+
+    private static int shift(int level) {
+        return CELL_SHIFT + level * LEVEL_SHIFT;
+    }
+
+    private static long cellKey(int level, int cellX, int cellZ) {
+        // The column coordinates of every level fit into 28 bits
+        return ((long) level << 56) | ((cellZ & 0xFFFFFFFL) << 28) | (cellX & 0xFFFFFFFL);
+    }
+
+    /**
+     * The grid levels of a single world.
+     */
+    private static class WorldGrid {
+
+        /**
+         * The regions overlapping each column of every level, mapped by the level and the column coordinates.
+         */
+        private final HashMap<Long, InteractionRegion[]> cells = new HashMap<>();
+
+        /**
+         * The amount of regions sorted into each level, so that empty levels are skipped.
+         */
+        private final int[] regionCounts = new int[LEVELS];
+
+        private InteractionRegion[] getCell(int level, Location location) {
+            if (regionCounts[level] == 0) return NO_REGIONS;
+
+            int shift = shift(level);
+            return cells.getOrDefault(cellKey(level, location.getBlockX() >> shift, location.getBlockZ() >> shift), NO_REGIONS);
+        }
+
+    }
+
+}
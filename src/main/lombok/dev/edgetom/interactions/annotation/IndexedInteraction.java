@@ -0,0 +1,60 @@
+package dev.edgetom.interactions.annotation;
+
+import dev.edgetom.interactions.ActionClass;
+import dev.edgetom.interactions.InteractionDefinition;
+import lombok.Getter;
+import org.bukkit.event.block.Action;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * An entry of an {@link InteractionIndex}, consisting of the {@link InteractionDefinition} read from the
+ * {@link Interaction} annotation and the factory creating the annotated executor.
+ */
+
+@Getter
+public class IndexedInteraction {
+
+    /**
+     * The {@link InteractionDefinition} describing the properties of the executor.
+     */
+    @NotNull
+    private final InteractionDefinition definition;
+
+    /**
+     * The factory creating the executor.
+     */
+    @NotNull
+    private final InteractionFactory factory;
+
+    /**
+     * Creates a new {@link IndexedInteraction}.
+     *
+     * @param definition The {@link InteractionDefinition} describing the properties of the executor.
+     * @param factory    The factory creating the executor.
+     */
+    public IndexedInteraction(@NotNull InteractionDefinition definition, @NotNull InteractionFactory factory) {
+        this.definition = definition;
+        this.factory = factory;
+    }
+
+    /**
+     * Combines the {@link Action}s of {@link ActionClass}es and single {@link Action}s without duplicates.
+     *
+     * @param actionClasses The {@link ActionClass}es.
+     * @param actions       The single {@link Action}s.
+     * @return The combined {@link Action}s.
+     */
+    public static Action[] actions(ActionClass[] actionClasses, Action... actions) {
+        Set<Action> combined = new LinkedHashSet<>();
+        for (ActionClass actionClass : actionClasses)
+            Collections.addAll(combined, actionClass.getActions());
+        combined.addAll(Arrays.asList(actions));
+        return combined.toArray(new Action[0]);
+    }
+
+}
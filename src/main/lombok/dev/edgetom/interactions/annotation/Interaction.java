@@ -0,0 +1,84 @@
+package dev.edgetom.interactions.annotation;
+
+import dev.edgetom.interactions.ActionClass;
+import org.bukkit.event.block.Action;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <pre>
+ * Marks an {@link dev.edgetom.interactions.InteractionExecutor} which is added to the interaction index generated by the
+ * {@link InteractionProcessor} at compile time. The executors of the index are registered all at once by calling
+ * {@link dev.edgetom.interactions.InteractionManager#registerIndexedInteractions()} and are only created when their
+ * interaction is used for the first time.
+ *
+ * The annotated class has to be public, must not be abstract and needs a public constructor taking an
+ * {@link dev.edgetom.interactions.InteractionManager} and an {@link dev.edgetom.interactions.InteractionDefinition},
+ * which passes both to the matching constructor of its superclass:
+ *
+ * {@literal @}Interaction(key = "test_interaction", actionClasses = ActionClass.RIGHT_CLICK, cooldown = 40)
+ * public class TestInteraction extends InteractionExecutor {
+ *
+ *     public TestInteraction(InteractionManager interactionManager, InteractionDefinition definition) {
+ *         super(interactionManager, definition);
+ *     }
+ *     ...
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface Interaction {
+
+    /**
+     * @return The key to be put into the {@link org.bukkit.persistence.PersistentDataContainer} of the item to interact with.
+     */
+    String key();
+
+    /**
+     * @return The {@link ActionClass}es that categorize the {@link Action}s which should trigger the executor.
+     */
+    ActionClass[] actionClasses() default {};
+
+    /**
+     * @return Additional {@link Action}s that should trigger the executor.
+     */
+    Action[] actions() default {};
+
+    /**
+     * @return Whether the {@link org.bukkit.inventory.ItemStack} the player interacts with should be able to be placed.
+     */
+    boolean placeable() default false;
+
+    /**
+     * @return The ticks that the interaction should be on cooldown after the interaction. {@code 0} for no cooldown.
+     */
+    int cooldown() default 0;
+
+    /**
+     * @return Whether the cooldown should be applied immediately after the interaction triggers.
+     */
+    boolean cooldownInstant() default true;
+
+    /**
+     * @return The amount of ticks the interaction has to be held continuously to be executed.
+     * Only allowed (and required) for subclasses of {@link dev.edgetom.interactions.HoldDownInteractionExecutor}.
+     */
+    long holdDownDuration() default 0;
+
+    /**
+     * @return Whether the interaction is kept by the block which is created if an item carrying the key is placed.
+     */
+    boolean blockBound() default false;
+
+    /**
+     * @return The names of the {@link dev.edgetom.interactions.InteractionRegion}s in which the interaction is allowed.
+     */
+    String[] regions() default {};
+
+}
@@ -0,0 +1,23 @@
+package dev.edgetom.interactions.annotation;
+
+import dev.edgetom.interactions.InteractionDefinition;
+import dev.edgetom.interactions.InteractionExecutor;
+import dev.edgetom.interactions.InteractionManager;
+
+/**
+ * Creates the {@link InteractionExecutor} of an {@link IndexedInteraction}.
+ * The generated index uses the constructor of the annotated class as factory.
+ */
+@FunctionalInterface
+public interface InteractionFactory {
+
+    /**
+     * Creates the executor. The executor must not register itself.
+     *
+     * @param interactionManager The manager the executor is registered in.
+     * @param definition         The {@link InteractionDefinition} describing the properties of the executor.
+     * @return The created executor.
+     */
+    InteractionExecutor create(InteractionManager interactionManager, InteractionDefinition definition);
+
+}
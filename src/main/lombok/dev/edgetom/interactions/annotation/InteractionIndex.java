@@ -0,0 +1,17 @@
+package dev.edgetom.interactions.annotation;
+
+import java.util.List;
+
+/**
+ * An index of {@link Interaction annotated} executors. Implementations are generated by the {@link InteractionProcessor}
+ * and listed in {@code META-INF/services/dev.edgetom.interactions.annotation.InteractionIndex}, so that they can be found
+ * by {@link dev.edgetom.interactions.InteractionManager#registerIndexedInteractions()}.
+ */
+public interface InteractionIndex {
+
+    /**
+     * @return The indexed interactions, sorted by their interaction key.
+     */
+    List<IndexedInteraction> getInteractions();
+
+}
@@ -0,0 +1,305 @@
+package dev.edgetom.interactions.annotation;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * <pre>
+ * The annotation processor generating the {@link InteractionIndex} of the classes annotated with {@link Interaction}.
+ *
+ * The index is generated as the class {@value #INDEX_CLASS_NAME} in the common package of the annotated classes and
+ * registered as a service in {@code META-INF/services}. The package can be set with the processor option
+ * {@code -A}{@value #PACKAGE_OPTION}{@code =<package>}. Every annotated class is validated at compile time, so that
+ * registering the index at runtime cannot fail because of a missing constructor or a duplicate key.
+ * </pre>
+ */
+@SupportedAnnotationTypes(InteractionProcessor.ANNOTATION_CLASS)
+@SupportedOptions(InteractionProcessor.PACKAGE_OPTION)
+public class InteractionProcessor extends AbstractProcessor {
+
+    /**
+     * The processor option setting the package of the generated index.
+     */
+    public static final String PACKAGE_OPTION = "interactions.indexPackage";
+
+    /**
+     * The simple name of the generated index class.
+     */
+    public static final String INDEX_CLASS_NAME = "GeneratedInteractionIndex";
+
+    private static final String API_PACKAGE = "dev.edgetom.interactions";
+
+    // The API classes are referenced by name, so that the processor does not need the Spigot API on its class path
+    static final String ANNOTATION_CLASS = API_PACKAGE + ".annotation.Interaction";
+    private static final String INDEX_INTERFACE = API_PACKAGE + ".annotation.InteractionIndex";
+    private static final String INDEXED_INTERACTION_CLASS = API_PACKAGE + ".annotation.IndexedInteraction";
+
+    private boolean generated = false;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION_CLASS);
+        Set<? extends Element> elements = roundEnvironment.getElementsAnnotatedWith(annotation);
+        if (elements.isEmpty()) return false;
+
+        Messager messager = processingEnv.getMessager();
+
+        if (generated) {
+            for (Element element : elements)
+                messager.printMessage(Diagnostic.Kind.ERROR, "Interactions in generated sources cannot be added to the index", element);
+            return true;
+        }
+
+        generated = true;
+
+        Map<String, TypeElement> executors = new TreeMap<>();
+        Map<String, AnnotationMirror> annotationMirrors = new TreeMap<>();
+        boolean valid = true;
+
+        for (Element element : elements) {
+            TypeElement type = (TypeElement) element;
+            AnnotationMirror annotationMirror = getInteractionMirror(type);
+            String key = (String) getValue(annotationMirror, "key");
+
+            if (!validate(type, annotationMirror)) {
+                valid = false;
+                continue;
+            }
+
+            if (executors.containsKey(key)) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "The interaction key '" + key + "' is already used by "
+                        + executors.get(key).getQualifiedName(), type);
+                valid = false;
+                continue;
+            }
+
+            executors.put(key, type);
+            annotationMirrors.put(key, annotationMirror);
+        }
+
+        if (!valid) return true;
+
+        String indexPackage = processingEnv.getOptions().get(PACKAGE_OPTION);
+        if (indexPackage == null)
+            indexPackage = commonPackage(executors.values());
+
+        if (indexPackage.isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "The annotated interactions do not share a package, set the package of the index with -A"
+                    + PACKAGE_OPTION + "=<package>");
+            return true;
+        }
+
+        try {
+            writeIndex(indexPackage, executors, annotationMirrors, elements);
+        } catch (IOException exception) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Could not write the interaction index: " + exception.getMessage());
+        }
+
+        return true;
+    }
+
+    private boolean validate(TypeElement type, AnnotationMirror annotationMirror) {
+        Messager messager = processingEnv.getMessager();
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+
+        TypeMirror executorType = elements.getTypeElement(API_PACKAGE + ".InteractionExecutor").asType();
+        TypeMirror holdDownExecutorType = elements.getTypeElement(API_PACKAGE + ".HoldDownInteractionExecutor").asType();
+        TypeMirror managerType = elements.getTypeElement(API_PACKAGE + ".InteractionManager").asType();
+        TypeMirror definitionType = elements.getTypeElement(API_PACKAGE + ".InteractionDefinition").asType();
+
+        if (type.getKind() != ElementKind.CLASS || !types.isSubtype(types.erasure(type.asType()), executorType)) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@Interaction can only be used on subclasses of InteractionExecutor", type);
+            return false;
+        }
+
+        if (type.getModifiers().contains(Modifier.ABSTRACT) || !type.getModifiers().contains(Modifier.PUBLIC)
+                || (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC))
+                || (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER)) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Classes annotated with @Interaction must be public, static and not abstract", type);
+            return false;
+        }
+
+        boolean hasConstructor = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .filter(constructor -> constructor.getModifiers().contains(Modifier.PUBLIC))
+                .map(ExecutableElement::getParameters)
+                .anyMatch(parameters -> parameters.size() == 2
+                        && types.isSameType(parameters.get(0).asType(), managerType)
+                        && types.isSameType(parameters.get(1).asType(), definitionType));
+
+        if (!hasConstructor) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Classes annotated with @Interaction need a public constructor "
+                    + "taking an InteractionManager and an InteractionDefinition", type);
+            return false;
+        }
+
+        boolean holdDown = types.isSubtype(types.erasure(type.asType()), holdDownExecutorType);
+        long holdDownDuration = (Long) getValue(annotationMirror, "holdDownDuration");
+
+        if (holdDown != holdDownDuration > 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, holdDown
+                    ? "Subclasses of HoldDownInteractionExecutor need a holdDownDuration greater than 0"
+                    : "A holdDownDuration can only be set for subclasses of HoldDownInteractionExecutor", type, annotationMirror);
+            return false;
+        }
+
+        if ((Integer) getValue(annotationMirror, "cooldown") < 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "The cooldown must not be negative", type, annotationMirror);
+            return false;
+        }
+
+        if (getList(annotationMirror, "actionClasses").isEmpty() && getList(annotationMirror, "actions").isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "At least one of actionClasses or actions has to be set", type, annotationMirror);
+            return false;
+        }
+
+        return true;
+    }
+
+    private void writeIndex(String indexPackage, Map<String, TypeElement> executors, Map<String, AnnotationMirror> annotationMirrors,
+                            Set<? extends Element> originatingElements) throws IOException {
+
+        Filer filer = processingEnv.getFiler();
+        String indexClass = indexPackage + "." + INDEX_CLASS_NAME;
+
+        StringBuilder source = new StringBuilder()
+                .append("package ").append(indexPackage).append(";\n\n")
+                .append("@javax.annotation.processing.Generated(\"").append(InteractionProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(INDEX_CLASS_NAME).append(" implements ").append(INDEX_INTERFACE).append(" {\n\n")
+                .append("    private static final java.util.List<").append(INDEXED_INTERACTION_CLASS).append("> INTERACTIONS = java.util.List.of(");
+
+        String separator = "\n";
+        for (Map.Entry<String, TypeElement> entry : executors.entrySet()) {
+            source.append(separator).append("            ").append(indexedInteraction(entry.getValue(), annotationMirrors.get(entry.getKey())));
+            separator = ",\n";
+        }
+
+        source.append("\n    );\n\n")
+                .append("    @Override\n")
+                .append("    public java.util.List<").append(INDEXED_INTERACTION_CLASS).append("> getInteractions() {\n")
+                .append("        return INTERACTIONS;\n")
+                .append("    }\n\n")
+                .append("}\n");
+
+        JavaFileObject sourceFile = filer.createSourceFile(indexClass, originatingElements.toArray(new Element[0]));
+        try (Writer writer = sourceFile.openWriter()) {
+            writer.write(source.toString());
+        }
+
+        FileObject serviceFile = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+                "META-INF/services/" + INDEX_INTERFACE, originatingElements.toArray(new Element[0]));
+        try (Writer writer = serviceFile.openWriter()) {
+            writer.write(indexClass + "\n");
+        }
+    }
+
+    private String indexedInteraction(TypeElement type, AnnotationMirror annotationMirror) {
+        return "new " + INDEXED_INTERACTION_CLASS + "(new " + API_PACKAGE + ".InteractionDefinition("
+                + processingEnv.getElementUtils().getConstantExpression(getValue(annotationMirror, "key")) + ", "
+                + INDEXED_INTERACTION_CLASS + ".actions(new " + API_PACKAGE + ".ActionClass[]{"
+                + enumConstants(API_PACKAGE + ".ActionClass", getList(annotationMirror, "actionClasses")) + "}"
+                + prefixed(enumConstants("org.bukkit.event.block.Action", getList(annotationMirror, "actions"))) + "), "
+                + getValue(annotationMirror, "placeable") + ", "
+                + getValue(annotationMirror, "cooldown") + ", "
+                + getValue(annotationMirror, "cooldownInstant") + ", "
+                + getValue(annotationMirror, "holdDownDuration") + "L, "
+                + getValue(annotationMirror, "blockBound") + ", "
+                + "java.util.Set.of(" + stringConstants(getList(annotationMirror, "regions")) + ")), "
+                + type.getQualifiedName() + "::new)";
+    }
+
+    private String enumConstants(String enumClass, List<? extends AnnotationValue> values) {
+        List<String> constants = new ArrayList<>();
+        for (AnnotationValue value : values)
+            constants.add(enumClass + "." + ((Element) value.getValue()).getSimpleName());
+        return String.join(", ", constants);
+    }
+
+    private String stringConstants(List<? extends AnnotationValue> values) {
+        List<String> constants = new ArrayList<>();
+        for (AnnotationValue value : values)
+            constants.add(processingEnv.getElementUtils().getConstantExpression(value.getValue()));
+        return String.join(", ", constants.stream().distinct().toList());
+    }
+
+    private static String prefixed(String arguments) {
+        return arguments.isEmpty() ? "" : ", " + arguments;
+    }
+
+    private AnnotationMirror getInteractionMirror(TypeElement type) {
+        for (AnnotationMirror annotationMirror : type.getAnnotationMirrors()) {
+            if (((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(ANNOTATION_CLASS))
+                return annotationMirror;
+        }
+        throw new IllegalStateException("The type " + type + " is not annotated with @Interaction");
+    }
+
+    private Object getValue(AnnotationMirror annotationMirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(annotationMirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name))
+                return entry.getValue().getValue();
+        }
+        throw new IllegalArgumentException("Unknown annotation value " + name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<? extends AnnotationValue> getList(AnnotationMirror annotationMirror, String name) {
+        return (List<? extends AnnotationValue>) getValue(annotationMirror, name);
+    }
+
+    private String commonPackage(Iterable<TypeElement> types) {
+        String common = null;
+
+        for (TypeElement type : types) {
+            String typePackage = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+
+            if (common == null) {
+                common = typePackage;
+                continue;
+            }
+
+            while (!common.isEmpty() && !(typePackage.equals(common) || typePackage.startsWith(common + "."))) {
+                int index = common.lastIndexOf('.');
+                common = index < 0 ? "" : common.substring(0, index);
+            }
+        }
+
+        return common == null ? "" : common;
+    }
+
+}
@@ -0,0 +1,65 @@
+package dev.edgetom.interactions.definitions;
+
+import dev.edgetom.interactions.HoldDownInteractionExecutor;
+import dev.edgetom.interactions.InteractionDefinition;
+import dev.edgetom.interactions.InteractionManager;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link HoldDownInteractionExecutor} which was created from a definition in a configuration file and
+ * delegates every call to the bound {@link InteractionHandler}. The tick and cancel callbacks are only
+ * forwarded if the handler is a {@link HoldDownInteractionHandler}.
+ */
+@Getter
+public class DefinedHoldDownInteractionExecutor extends HoldDownInteractionExecutor {
+
+    /**
+     * The {@link InteractionHandler} the interaction is bound to.
+     */
+    @NotNull
+    private final InteractionHandler handler;
+
+    /**
+     * Create a {@link DefinedHoldDownInteractionExecutor}. The executor is <strong>not</strong> registered automatically.
+     *
+     * @param interactionManager The manager defined in the plugins main class controlling the interactions.
+     * @param definition         The {@link InteractionDefinition} describing the properties of the executor.
+     * @param handler            The {@link InteractionHandler} the interaction is bound to.
+     */
+    public DefinedHoldDownInteractionExecutor(@NotNull InteractionManager interactionManager, @NotNull InteractionDefinition definition,
+                                              @NotNull InteractionHandler handler) {
+        super(interactionManager, definition);
+        this.handler = handler;
+    }
+
+    @Override
+    public void execute(PlayerInteractEvent event, Player player) {
+        handler.execute(event, player);
+    }
+
+    @Override
+    public void interactedOnCooldown(PlayerInteractEvent event, Player player) {
+        handler.interactedOnCooldown(event, player);
+    }
+
+    @Override
+    public void interactedOutsideRegion(PlayerInteractEvent event, Player player) {
+        handler.interactedOutsideRegion(event, player);
+    }
+
+    @Override
+    public void onTickCheck(Player player, long tickSinceFirstClick, long ticksSinceLastClick) {
+        if (handler instanceof HoldDownInteractionHandler holdDownHandler)
+            holdDownHandler.onTickCheck(player, tickSinceFirstClick, ticksSinceLastClick);
+    }
+
+    @Override
+    public void onCancel(Player player, long tickSinceFirstClick, long ticksSinceLastClick) {
+        if (handler instanceof HoldDownInteractionHandler holdDownHandler)
+            holdDownHandler.onCancel(player, tickSinceFirstClick, ticksSinceLastClick);
+    }
+
+}
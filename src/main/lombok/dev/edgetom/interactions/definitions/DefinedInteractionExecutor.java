@@ -0,0 +1,52 @@
+package dev.edgetom.interactions.definitions;
+
+import dev.edgetom.interactions.InteractionDefinition;
+import dev.edgetom.interactions.InteractionExecutor;
+import dev.edgetom.interactions.InteractionManager;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link InteractionExecutor} which was created from a definition in a configuration file and
+ * delegates every call to the bound {@link InteractionHandler}.
+ */
+@Getter
+public class DefinedInteractionExecutor extends InteractionExecutor {
+
+    /**
+     * The {@link InteractionHandler} the interaction is bound to.
+     */
+    @NotNull
+    private final InteractionHandler handler;
+
+    /**
+     * Create a {@link DefinedInteractionExecutor}. The executor is <strong>not</strong> registered automatically.
+     *
+     * @param interactionManager The manager defined in the plugins main class controlling the interactions.
+     * @param definition         The {@link InteractionDefinition} describing the properties of the executor.
+     * @param handler            The {@link InteractionHandler} the interaction is bound to.
+     */
+    public DefinedInteractionExecutor(@NotNull InteractionManager interactionManager, @NotNull InteractionDefinition definition,
+                                      @NotNull InteractionHandler handler) {
+        super(interactionManager, definition);
+        this.handler = handler;
+    }
+
+    @Override
+    public void execute(PlayerInteractEvent event, Player player) {
+        handler.execute(event, player);
+    }
+
+    @Override
+    public void interactedOnCooldown(PlayerInteractEvent event, Player player) {
+        handler.interactedOnCooldown(event, player);
+    }
+
+    @Override
+    public void interactedOutsideRegion(PlayerInteractEvent event, Player player) {
+        handler.interactedOutsideRegion(event, player);
+    }
+
+}
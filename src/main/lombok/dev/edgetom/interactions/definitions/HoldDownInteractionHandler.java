@@ -0,0 +1,35 @@
+package dev.edgetom.interactions.definitions;
+
+import org.bukkit.entity.Player;
+
+/**
+ * An {@link InteractionHandler} which additionally reacts to the progress of interactions that have to be held
+ * (interaction definitions with a {@code hold-down-duration}).
+ * Handlers which do not implement this interface can still be bound to such interactions, they will only be
+ * called once the interaction was held long enough.
+ */
+public interface HoldDownInteractionHandler extends InteractionHandler {
+
+    /**
+     * The method which is called every tick which passes after the interaction is triggered for the first time
+     * until the interaction is finished or canceled (not implemented by default).
+     *
+     * @param player              The player who caused the interaction.
+     * @param tickSinceFirstClick The ticks which elapsed since the interaction was triggered for the first time.
+     * @param ticksSinceLastClick The ticks which elapsed since the last click was registered.
+     */
+    default void onTickCheck(Player player, long tickSinceFirstClick, long ticksSinceLastClick) {
+    }
+
+    /**
+     * The method which is called if the interaction is canceled because the player stopped interacting with the item
+     * (not implemented by default).
+     *
+     * @param player              The player who caused the interaction.
+     * @param tickSinceFirstClick The ticks which elapsed since the interaction was triggered for the first time.
+     * @param ticksSinceLastClick The ticks which elapsed since the last click was registered.
+     */
+    default void onCancel(Player player, long tickSinceFirstClick, long ticksSinceLastClick) {
+    }
+
+}
@@ -0,0 +1,207 @@
+package dev.edgetom.interactions.definitions;
+
+import dev.edgetom.interactions.ActionClass;
+import dev.edgetom.interactions.InteractionDefinition;
+import dev.edgetom.interactions.InteractionExecutor;
+import dev.edgetom.interactions.InteractionManager;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.event.block.Action;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <pre>
+ * Parses interaction definitions from a {@link ConfigurationSection} and creates the matching executors.
+ * Every child section of the given section defines one interaction, the name of the child section is used
+ * as the interaction key:
+ *
+ * heal_wand:
+ *   handler: heal                # The name of a handler registered in the InteractionManager (required)
+ *   actions: RIGHT_CLICK         # An ActionClass or Action, or a list of them (required)
+ *   placeable: false             # (default: false)
+ *   cooldown: 40                 # in ticks (default: 0)
+ *   cooldown-instant: true       # (default: true)
+ *   hold-down-duration: 20       # in ticks, creates a hold down interaction if greater than 0 (default: 0)
+ *   block-bound: false           # whether placed items keep the interaction as a block (default: false)
+ *   regions: [arena]             # A region name or a list of them the interaction is allowed in (default: everywhere)
+ *
+ * Values of the wrong type and unknown keys are reported as errors instead of being ignored, so that a typo cannot
+ * load a weaker interaction than intended.
+ * The parser does not access the server and does not register anything, it can safely be called from
+ * an asynchronous task.
+ * </pre>
+ */
+public final class InteractionDefinitionParser {
+
+    /**
+     * The keys a definition may contain.
+     */
+    private static final Set<String> KEYS = Set.of("handler", "actions", "placeable", "cooldown", "cooldown-instant",
+            "hold-down-duration", "block-bound", "regions");
+
+    private InteractionDefinitionParser() {
+    }
+
+    /**
+     * Parses and validates every interaction definition of the given section.
+     * Either every definition is valid or none of them is returned.
+     *
+     * @param interactionManager The manager the created executors belong to and which provides the handlers.
+     * @param section            The section containing one child section per interaction.
+     * @return The created (unregistered) executors mapped by their interaction key.
+     * @throws IllegalArgumentException If at least one definition is invalid. The message lists every problem found.
+     */
+    public static Map<String, InteractionExecutor> parse(@NotNull InteractionManager interactionManager, @NotNull ConfigurationSection section) {
+
+        Map<String, InteractionExecutor> executors = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+
+        for (String interactionKey : section.getKeys(false)) {
+
+            ConfigurationSection definitionSection = section.getConfigurationSection(interactionKey);
+
+            if (definitionSection == null) {
+                errors.add(interactionKey + ": the definition has to be a section");
+                continue;
+            }
+
+            int errorCount = errors.size();
+
+            for (String key : definitionSection.getKeys(false)) {
+                if (!KEYS.contains(key))
+                    errors.add(interactionKey + ": '" + key + "' is not a known key");
+            }
+
+            String handlerName = definitionSection.isString("handler") ? definitionSection.getString("handler") : null;
+            InteractionHandler handler = null;
+
+            if (handlerName == null)
+                errors.add(interactionKey + ": no handler is defined");
+            else if ((handler = interactionManager.getHandler(handlerName)) == null)
+                errors.add(interactionKey + ": the handler '" + handlerName + "' is not registered");
+
+            Action[] actions = parseActions(interactionKey, definitionSection, errors);
+            Set<String> regions = parseRegions(interactionKey, definitionSection, errors);
+
+            int cooldown = parseInt(interactionKey, definitionSection, "cooldown", errors);
+            if (cooldown < 0)
+                errors.add(interactionKey + ": the cooldown must not be negative");
+
+            long holdDownDuration = parseLong(interactionKey, definitionSection, "hold-down-duration", errors);
+            if (holdDownDuration < 0)
+                errors.add(interactionKey + ": the hold-down-duration must not be negative");
+
+            boolean placeable = parseBoolean(interactionKey, definitionSection, "placeable", false, errors);
+            boolean cooldownInstant = parseBoolean(interactionKey, definitionSection, "cooldown-instant", true, errors);
+            boolean blockBound = parseBoolean(interactionKey, definitionSection, "block-bound", false, errors);
+
+            if (errors.size() > errorCount) continue;
+
+            InteractionDefinition definition = new InteractionDefinition(interactionKey, actions, placeable, cooldown,
+                    cooldownInstant, holdDownDuration, blockBound, regions);
+
+            executors.put(interactionKey, definition.isHoldDown()
+                    ? new DefinedHoldDownInteractionExecutor(interactionManager, definition, handler)
+                    : new DefinedInteractionExecutor(interactionManager, definition, handler));
+        }
+
+        if (!errors.isEmpty())
+            throw new IllegalArgumentException("Invalid interaction definitions:\n - " + String.join("\n - ", errors));
+
+        return executors;
+    }
+
+    private static Action[] parseActions(String interactionKey, ConfigurationSection definitionSection, List<String> errors) {
+
+        List<String> names = definitionSection.isList("actions")
+                ? definitionSection.getStringList("actions")
+                : definitionSection.contains("actions")
+                ? Collections.singletonList(definitionSection.getString("actions"))
+                : Collections.emptyList();
+
+        if (names.isEmpty()) {
+            errors.add(interactionKey + ": no actions are defined");
+            return null;
+        }
+
+        Set<Action> actions = new LinkedHashSet<>();
+
+        for (String name : names) {
+            String constant = String.valueOf(name).trim().toUpperCase(Locale.ROOT);
+            try {
+                Collections.addAll(actions, ActionClass.valueOf(constant).getActions());
+            } catch (IllegalArgumentException notAnActionClass) {
+                try {
+                    actions.add(Action.valueOf(constant));
+                } catch (IllegalArgumentException notAnAction) {
+                    errors.add(interactionKey + ": '" + name + "' is neither an ActionClass nor an Action");
+                }
+            }
+        }
+
+        return actions.toArray(new Action[0]);
+    }
+
+    private static int parseInt(String interactionKey, ConfigurationSection definitionSection, String key, List<String> errors) {
+        if (!definitionSection.contains(key)) return 0;
+        if (definitionSection.isInt(key)) return definitionSection.getInt(key);
+
+        errors.add(interactionKey + ": the " + key + " has to be a whole number");
+        return 0;
+    }
+
+    private static long parseLong(String interactionKey, ConfigurationSection definitionSection, String key, List<String> errors) {
+        if (!definitionSection.contains(key)) return 0;
+        // Small numbers are loaded as integers
+        if (definitionSection.isInt(key) || definitionSection.isLong(key)) return definitionSection.getLong(key);
+
+        errors.add(interactionKey + ": the " + key + " has to be a whole number");
+        return 0;
+    }
+
+    private static boolean parseBoolean(String interactionKey, ConfigurationSection definitionSection, String key,
+                                        boolean defaultValue, List<String> errors) {
+        if (!definitionSection.contains(key)) return defaultValue;
+        if (definitionSection.isBoolean(key)) return definitionSection.getBoolean(key);
+
+        errors.add(interactionKey + ": " + key + " has to be true or false");
+        return defaultValue;
+    }
+
+    private static Set<String> parseRegions(String interactionKey, ConfigurationSection definitionSection, List<String> errors) {
+
+        Set<String> regions = new LinkedHashSet<>();
+
+        if (!definitionSection.contains("regions")) return regions;
+
+        if (definitionSection.isString("regions")) {
+            regions.add(definitionSection.getString("regions").trim());
+        } else if (definitionSection.isList("regions")) {
+            // Checked entry by entry, since getStringList silently drops entries which are not strings
+            for (Object name : definitionSection.getList("regions")) {
+                if (name instanceof String regionName)
+                    regions.add(regionName.trim());
+                else
+                    errors.add(interactionKey + ": '" + name + "' is not a region name");
+            }
+        } else {
+            errors.add(interactionKey + ": the regions have to be a region name or a list of region names");
+            return regions;
+        }
+
+        // An empty restriction would allow the interaction everywhere
+        if (regions.isEmpty() || regions.contains(""))
+            errors.add(interactionKey + ": the regions must not be empty, omit them to allow the interaction everywhere");
+
+        return regions;
+    }
+
+}
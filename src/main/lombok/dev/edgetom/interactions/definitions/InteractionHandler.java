@@ -0,0 +1,41 @@
+package dev.edgetom.interactions.definitions;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerInteractEvent;
+
+/**
+ * A function which is bound to one or more interactions that are defined in a configuration file.
+ * Handlers are registered by name using {@link dev.edgetom.interactions.InteractionManager#registerHandler(String, InteractionHandler)}
+ * and are referenced by the {@code handler} entry of an interaction definition.
+ */
+@FunctionalInterface
+public interface InteractionHandler {
+
+    /**
+     * The method which is called if a valid interaction with an item of the bound interaction is detected.
+     *
+     * @param event  The triggered {@link PlayerInteractEvent}.
+     * @param player The player responsible for the event.
+     */
+    void execute(PlayerInteractEvent event, Player player);
+
+    /**
+     * An optional method which can be overwritten to react to the interaction being called while on cooldown (not implemented by default).
+     *
+     * @param event  The triggered {@link PlayerInteractEvent}.
+     * @param player The player responsible for the event.
+     */
+    default void interactedOnCooldown(PlayerInteractEvent event, Player player) {
+    }
+
+    /**
+     * An optional method which can be overwritten to react to the interaction being called outside of the regions
+     * it is allowed in (not implemented by default).
+     *
+     * @param event  The triggered {@link PlayerInteractEvent}.
+     * @param player The player responsible for the event.
+     */
+    default void interactedOutsideRegion(PlayerInteractEvent event, Player player) {
+    }
+
+}
@@ -0,0 +1,42 @@
+package dev.edgetom.interactions.persistence;
+
+import lombok.AllArgsConstructor;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * The listener restores the persisted interaction state of players when they join and keeps it when they quit.
+ */
+@AllArgsConstructor
+public class InteractionStateListener implements Listener {
+
+    /**
+     * The {@link InteractionStateStore} containing the states.
+     */
+    private final InteractionStateStore stateStore;
+
+    /**
+     * The EventHandler for the {@link PlayerJoinEvent}
+     *
+     * @param event The intercepted event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        stateStore.restore(event.getPlayer());
+    }
+
+    /**
+     * The EventHandler for the {@link PlayerQuitEvent}. Runs before the cooldowns of block interactions are cleared
+     * on {@link EventPriority#MONITOR}.
+     *
+     * @param event The intercepted event
+     */
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        stateStore.release(event.getPlayer());
+    }
+
+}
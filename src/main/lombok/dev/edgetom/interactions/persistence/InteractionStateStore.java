@@ -0,0 +1,464 @@
+package dev.edgetom.interactions.persistence;
+
+import dev.edgetom.interactions.InteractionManager;
+import dev.edgetom.interactions.utils.HoldDownInteraction;
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * <pre>
+ * The InteractionStateStore persists the interaction state of players across restarts: the cooldowns applied by
+ * {@link dev.edgetom.interactions.InteractionExecutor#addCooldown(Player, Material)}, the cooldowns of block
+ * interactions and optionally the progress of hold down interactions the player was holding when leaving.
+ *
+ * The states are saved to a binary file consisting of a header, an index sorted by the {@link UUID}s of the players
+ * and one data block per player. The file is read into memory with a single read when the store is created, but the
+ * state of a player is only decoded (by a binary search in the index) when the player joins, so the amount of known
+ * players barely affects the startup time. {@link #save()} writes the whole file with a single bulk write.
+ * The data blocks of players who were not online since the last save are copied without being decoded.
+ *
+ * Cooldowns are saved as points in time, so that they also expire while a player is offline. The progress of a hold
+ * down interaction is discarded once the {@link #holdProgressLifetime} passed after the player left.
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public class InteractionStateStore {
+
+    private static final int MAGIC = 0x49415049;
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * The size of the header: magic number, format version and the amount of players.
+     */
+    private static final int HEADER_SIZE = 12;
+
+    /**
+     * The size of an index entry: the two halves of the {@link UUID}, the expiry of the state, the offset and the length of the data block.
+     */
+    private static final int INDEX_ENTRY_SIZE = 32;
+
+    private static final long MILLIS_PER_TICK = 50;
+
+    /**
+     * The {@link InteractionManager} the store belongs to.
+     */
+    private final InteractionManager interactionManager;
+
+    /**
+     * The file the states are saved to.
+     */
+    @Getter
+    private final Path file;
+
+    /**
+     * Whether the progress of hold down interactions is persisted in addition to the cooldowns.
+     */
+    @Getter
+    private final boolean persistHolds;
+
+    /**
+     * The time in milliseconds the progress of a hold down interaction is kept after the player left or the server
+     * stopped (default is 5 minutes). Progress which was not resumed within this time is discarded.
+     */
+    @Getter
+    @Setter
+    private long holdProgressLifetime = 300_000;
+
+    /**
+     * The content of the file as it was last loaded or saved, or {@code null} if no file exists yet.
+     */
+    private ByteBuffer data;
+
+    /**
+     * The amount of players in the index of {@link #data}.
+     */
+    private int playerCount;
+
+    /**
+     * The item types which were put on cooldown by an executor, for every online player.
+     */
+    private final HashMap<UUID, EnumSet<Material>> trackedCooldowns = new HashMap<>();
+
+    /**
+     * The states of the players who left since the last save.
+     */
+    private final HashMap<UUID, PlayerInteractionState> offlineStates = new HashMap<>();
+
+    /**
+     * The restored hold down interactions of online players, which are resumed when the player starts holding
+     * the same interaction again.
+     */
+    private final HashMap<UUID, PlayerInteractionState> pendingHolds = new HashMap<>();
+
+    /**
+     * Creates a new {@link InteractionStateStore} and reads the file if it exists.
+     * Use {@link InteractionManager#enablePersistence(java.io.File, boolean)} instead of creating a store manually.
+     *
+     * @param interactionManager The {@link InteractionManager} the store belongs to.
+     * @param file               The file the states are saved to.
+     * @param persistHolds       Whether the progress of hold down interactions is persisted in addition to the cooldowns.
+     * @throws IOException If the file exists but cannot be read or is not a valid state file.
+     */
+    public InteractionStateStore(@NotNull InteractionManager interactionManager, @NotNull Path file, boolean persistHolds) throws IOException {
+        this.interactionManager = interactionManager;
+        this.file = file;
+        this.persistHolds = persistHolds;
+
+        if (!Files.exists(file)) return;
+
+        ByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0)
+                    throw new IOException("The file " + file + " ended unexpectedly");
+            }
+            buffer.flip();
+        }
+
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+            throw new IOException("The file " + file + " is not an interaction state file");
+        if (buffer.getInt(4) != FORMAT_VERSION)
+            throw new IOException("The interaction state file " + file + " has the unknown format version " + buffer.getInt(4));
+
+        this.playerCount = buffer.getInt(8);
+        if (playerCount < 0 || HEADER_SIZE + (long) playerCount * INDEX_ENTRY_SIZE > buffer.limit())
+            throw new IOException("The interaction state file " + file + " is corrupted");
+
+        this.data = buffer;
+    }
+
+    /**
+     * Registers that an executor put an item type on cooldown for a player, so that the cooldown is persisted.
+     *
+     * @param player   The player.
+     * @param material The item type which was put on cooldown.
+     */
+    public void trackCooldown(@NotNull Player player, @NotNull Material material) {
+        trackedCooldowns.computeIfAbsent(player.getUniqueId(), uuid -> EnumSet.noneOf(Material.class)).add(material);
+    }
+
+    /**
+     * Restores the persisted state of a player. Called when a player joins.
+     *
+     * @param player The player.
+     */
+    public void restore(@NotNull Player player) {
+        PlayerInteractionState state = offlineStates.remove(player.getUniqueId());
+        if (state == null)
+            state = lookup(player.getUniqueId());
+        if (state == null) return;
+
+        long now = System.currentTimeMillis();
+
+        for (Map.Entry<Material, Long> cooldown : state.getCooldownExpiries().entrySet()) {
+            long remaining = cooldown.getValue() - now;
+            if (remaining <= 0) continue;
+
+            player.setCooldown(cooldown.getKey(), (int) Math.min(Integer.MAX_VALUE, (remaining + MILLIS_PER_TICK - 1) / MILLIS_PER_TICK));
+            trackCooldown(player, cooldown.getKey());
+        }
+
+        for (Map.Entry<String, Long> cooldown : state.getBlockCooldownExpiries().entrySet())
+            interactionManager.getBlockInteractions().setCooldownExpiry(player.getUniqueId(), cooldown.getKey(), cooldown.getValue());
+
+        if (persistHolds && state.hasHold(now))
+            pendingHolds.put(player.getUniqueId(), state);
+    }
+
+    /**
+     * Keeps the state of a player in memory until the next save and cancels the hold down interaction of the player.
+     * Called when a player quits.
+     *
+     * @param player The player.
+     */
+    public void release(@NotNull Player player) {
+        PlayerInteractionState state = snapshot(player);
+
+        trackedCooldowns.remove(player.getUniqueId());
+        pendingHolds.remove(player.getUniqueId());
+
+        // Empty states are kept as well, so that they replace the state of the player in the file
+        offlineStates.put(player.getUniqueId(), state);
+
+        HoldDownInteraction holdDownInteraction = interactionManager.getHoldDownInteractions().get(player);
+        if (holdDownInteraction != null)
+            holdDownInteraction.cancel(true);
+    }
+
+    /**
+     * Takes the restored progress of a hold down interaction. Every restored progress can only be taken once,
+     * no matter whether the interaction key matches, and only until it is discarded (see {@link #holdProgressLifetime}).
+     *
+     * @param player         The player who starts holding an interaction.
+     * @param interactionKey The key of the interaction.
+     * @return The ticks the interaction was already held before the player left, or {@code 0}.
+     */
+    public long takeHoldProgress(@NotNull Player player, @NotNull String interactionKey) {
+        PlayerInteractionState state = pendingHolds.remove(player.getUniqueId());
+        return state != null && state.hasHold(System.currentTimeMillis()) && interactionKey.equals(state.getHoldInteractionKey())
+                ? state.getHoldElapsedTicks() : 0;
+    }
+
+    /**
+     * Saves the states of all known players to the file. States which only contain expired cooldowns and discarded
+     * hold down progress are dropped.
+     * Should be called when the plugin is disabled.
+     * The file is replaced atomically if the file system supports it.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public void save() throws IOException {
+        long now = System.currentTimeMillis();
+        TreeMap<UUID, Block> blocks = new TreeMap<>();
+        Set<UUID> updatedPlayers = new HashSet<>(offlineStates.keySet());
+
+        for (Player player : interactionManager.getPlugin().getServer().getOnlinePlayers()) {
+            updatedPlayers.add(player.getUniqueId());
+            addBlock(blocks, player.getUniqueId(), snapshot(player), now);
+        }
+
+        for (Map.Entry<UUID, PlayerInteractionState> offlineState : offlineStates.entrySet())
+            addBlock(blocks, offlineState.getKey(), offlineState.getValue(), now);
+
+        for (int i = 0; i < playerCount; i++) {
+            int entry = HEADER_SIZE + i * INDEX_ENTRY_SIZE;
+            UUID uuid = new UUID(data.getLong(entry), data.getLong(entry + 8));
+            long expiry = data.getLong(entry + 16);
+
+            if (expiry > now && !updatedPlayers.contains(uuid))
+                blocks.put(uuid, new Block(expiry, data.slice(data.getInt(entry + 24), data.getInt(entry + 28))));
+        }
+
+        long size = HEADER_SIZE + (long) blocks.size() * INDEX_ENTRY_SIZE;
+        for (Block block : blocks.values())
+            size += block.data().remaining();
+
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("The interaction states are too large to be saved");
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(blocks.size());
+
+        int offset = HEADER_SIZE + blocks.size() * INDEX_ENTRY_SIZE;
+        for (Map.Entry<UUID, Block> block : blocks.entrySet()) {
+            int length = block.getValue().data().remaining();
+            buffer.putLong(block.getKey().getMostSignificantBits()).putLong(block.getKey().getLeastSignificantBits())
+                    .putLong(block.getValue().expiry()).putInt(offset).putInt(length);
+            offset += length;
+        }
+
+        for (Block block : blocks.values())
+            buffer.put(block.data().duplicate());
+
+        buffer.flip();
+        write(buffer.duplicate());
+
+        this.data = buffer;
+        this.playerCount = blocks.size();
+        offlineStates.clear();
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(false);
+        }
+
+        try {
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void addBlock(Map<UUID, Block> blocks, UUID uuid, PlayerInteractionState state, long now) {
+        long expiry = state.getExpiry();
+        if (expiry > now)
+            blocks.put(uuid, new Block(expiry, encode(state, now)));
+    }
+
+    private PlayerInteractionState snapshot(Player player) {
+        long now = System.currentTimeMillis();
+        String holdInteractionKey = null;
+        long holdElapsedTicks = 0;
+        long holdExpiry = 0;
+
+        if (persistHolds) {
+            HoldDownInteraction holdDownInteraction = interactionManager.getHoldDownInteractions().get(player);
+            PlayerInteractionState pendingHold = pendingHolds.get(player.getUniqueId());
+
+            if (holdDownInteraction != null) {
+                holdInteractionKey = holdDownInteraction.getInteractionExecutor().getInteractionKey();
+                holdElapsedTicks = holdDownInteraction.getElapsedTicks();
+                holdExpiry = now + holdProgressLifetime;
+            } else if (pendingHold != null) {
+                // A restored progress keeps the lifetime it got when the player left
+                holdInteractionKey = pendingHold.getHoldInteractionKey();
+                holdElapsedTicks = pendingHold.getHoldElapsedTicks();
+                holdExpiry = pendingHold.getHoldExpiry();
+            }
+        }
+
+        PlayerInteractionState state = new PlayerInteractionState(holdInteractionKey, holdElapsedTicks, holdExpiry);
+        state.getBlockCooldownExpiries().putAll(interactionManager.getBlockInteractions().getCooldownExpiries(player.getUniqueId()));
+
+        EnumSet<Material> materials = trackedCooldowns.get(player.getUniqueId());
+        if (materials == null) return state;
+
+        materials.removeIf(material -> {
+            int ticks = player.getCooldown(material);
+            if (ticks <= 0) return true;
+            state.getCooldownExpiries().put(material, now + ticks * MILLIS_PER_TICK);
+            return false;
+        });
+
+        return state;
+    }
+
+    private PlayerInteractionState lookup(UUID uuid) {
+        int low = 0;
+        int high = playerCount - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = HEADER_SIZE + middle * INDEX_ENTRY_SIZE;
+
+            int comparison = Long.compare(data.getLong(entry), uuid.getMostSignificantBits());
+            if (comparison == 0)
+                comparison = Long.compare(data.getLong(entry + 8), uuid.getLeastSignificantBits());
+
+            if (comparison < 0)
+                low = middle + 1;
+            else if (comparison > 0)
+                high = middle - 1;
+            else {
+                try {
+                    return decode(data.slice(data.getInt(entry + 24), data.getInt(entry + 28)));
+                } catch (RuntimeException exception) {
+                    interactionManager.getPlugin().getLogger().log(Level.WARNING, "Could not load the interaction state of " + uuid, exception);
+                    return null;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static ByteBuffer encode(PlayerInteractionState state, long now) {
+        List<byte[]> names = new ArrayList<>();
+        List<Long> expiries = new ArrayList<>();
+        int size = 2 + 1;
+
+        for (Map.Entry<Material, Long> cooldown : state.getCooldownExpiries().entrySet()) {
+            if (cooldown.getValue() <= now) continue;
+            byte[] name = cooldown.getKey().name().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            expiries.add(cooldown.getValue());
+            size += 2 + name.length + 8;
+        }
+
+        List<byte[]> blockInteractionKeys = new ArrayList<>();
+        List<Long> blockExpiries = new ArrayList<>();
+        size += 2;
+
+        for (Map.Entry<String, Long> cooldown : state.getBlockCooldownExpiries().entrySet()) {
+            if (cooldown.getValue() <= now) continue;
+            byte[] interactionKey = cooldown.getKey().getBytes(StandardCharsets.UTF_8);
+            blockInteractionKeys.add(interactionKey);
+            blockExpiries.add(cooldown.getValue());
+            size += 2 + interactionKey.length + 8;
+        }
+
+        byte[] holdInteractionKey = state.hasHold(now) ? state.getHoldInteractionKey().getBytes(StandardCharsets.UTF_8) : null;
+        if (holdInteractionKey != null)
+            size += 2 + holdInteractionKey.length + 8 + 8;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putShort((short) names.size());
+        for (int i = 0; i < names.size(); i++)
+            buffer.putShort((short) names.get(i).length).put(names.get(i)).putLong(expiries.get(i));
+
+        buffer.putShort((short) blockInteractionKeys.size());
+        for (int i = 0; i < blockInteractionKeys.size(); i++)
+            buffer.putShort((short) blockInteractionKeys.get(i).length).put(blockInteractionKeys.get(i)).putLong(blockExpiries.get(i));
+
+        buffer.put((byte) (holdInteractionKey == null ? 0 : 1));
+        if (holdInteractionKey != null)
+            buffer.putShort((short) holdInteractionKey.length).put(holdInteractionKey).putLong(state.getHoldElapsedTicks())
+                    .putLong(state.getHoldExpiry());
+
+        return buffer.flip();
+    }
+
+    private static PlayerInteractionState decode(ByteBuffer buffer) {
+        Map<Material, Long> cooldowns = new HashMap<>();
+
+        int cooldownCount = Short.toUnsignedInt(buffer.getShort());
+        for (int i = 0; i < cooldownCount; i++) {
+            Material material = Material.getMaterial(readString(buffer));
+            long expiry = buffer.getLong();
+            if (material != null)
+                cooldowns.put(material, expiry);
+        }
+
+        Map<String, Long> blockCooldowns = new HashMap<>();
+
+        int blockCooldownCount = Short.toUnsignedInt(buffer.getShort());
+        for (int i = 0; i < blockCooldownCount; i++)
+            blockCooldowns.put(readString(buffer), buffer.getLong());
+
+        PlayerInteractionState state = buffer.get() == 1
+                ? new PlayerInteractionState(readString(buffer), buffer.getLong(), buffer.getLong())
+                : new PlayerInteractionState(null, 0, 0);
+
+        state.getCooldownExpiries().putAll(cooldowns);
+        state.getBlockCooldownExpiries().putAll(blockCooldowns);
+        return state;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The encoded state of a player and the time at which it expires.
+     */
+    private record Block(long expiry, ByteBuffer data) {
+    }
+
+}
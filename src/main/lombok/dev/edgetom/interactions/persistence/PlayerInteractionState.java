@@ -0,0 +1,78 @@
+package dev.edgetom.interactions.persistence;
+
+import lombok.Getter;
+import org.bukkit.Material;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The persisted interaction state of a single player.
+ * This class is mainly used by the {@link InteractionStateStore} and is not meant to be used otherwise.
+ */
+
+@Getter
+class PlayerInteractionState {
+
+    /**
+     * The times (in milliseconds since the epoch) at which the cooldowns of the player end, mapped by the item type.
+     */
+    private final Map<Material, Long> cooldownExpiries = new EnumMap<>(Material.class);
+
+    /**
+     * The times (in milliseconds since the epoch) at which the cooldowns of block interactions of the player end,
+     * mapped by the interaction key.
+     */
+    private final Map<String, Long> blockCooldownExpiries = new HashMap<>();
+
+    /**
+     * The key of the hold down interaction the player was holding, or {@code null}.
+     */
+    private final String holdInteractionKey;
+
+    /**
+     * The ticks the hold down interaction was already held.
+     */
+    private final long holdElapsedTicks;
+
+    /**
+     * The time (in milliseconds since the epoch) at which the progress of the hold down interaction is discarded.
+     */
+    private final long holdExpiry;
+
+    /**
+     * Creates a new {@link PlayerInteractionState}.
+     *
+     * @param holdInteractionKey The key of the hold down interaction the player was holding, or {@code null}.
+     * @param holdElapsedTicks   The ticks the hold down interaction was already held.
+     * @param holdExpiry         The time at which the progress of the hold down interaction is discarded.
+     */
+    PlayerInteractionState(String holdInteractionKey, long holdElapsedTicks, long holdExpiry) {
+        this.holdInteractionKey = holdInteractionKey;
+        this.holdElapsedTicks = holdElapsedTicks;
+        this.holdExpiry = holdExpiry;
+    }
+
+    /**
+     * @param now The current time in milliseconds since the epoch.
+     * @return Whether the state contains the progress of a hold down interaction which was not discarded yet.
+     */
+    boolean hasHold(long now) {
+        return holdInteractionKey != null && holdExpiry > now;
+    }
+
+    /**
+     * @return The time at which the last cooldown ends or the progress of the hold down interaction is discarded,
+     * whichever is later.
+     */
+    long getExpiry() {
+        long expiry = holdInteractionKey == null ? 0 : holdExpiry;
+        for (long cooldownExpiry : cooldownExpiries.values())
+            expiry = Math.max(expiry, cooldownExpiry);
+        for (long cooldownExpiry : blockCooldownExpiries.values())
+            expiry = Math.max(expiry, cooldownExpiry);
+        return expiry;
+    }
+
+}
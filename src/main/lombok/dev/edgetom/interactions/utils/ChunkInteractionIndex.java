@@ -0,0 +1,301 @@
+package dev.edgetom.interactions.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <pre>
+ * An in-memory index of the interactions bound to the blocks of one chunk.
+ *
+ * The positions of the blocks are packed into a single {@code int} (see {@link #pack(int, int, int)}) and stored
+ * in an open addressing hash table, so that looking up the interaction of a block does not create any objects
+ * and does not access the {@link org.bukkit.persistence.PersistentDataContainer} of the chunk.
+ * Together with the interaction key the type of the block is stored, so that a binding can be recognized as stale
+ * if the block was removed or replaced without the API noticing it.
+ * The index can be encoded into a compact byte array which is stored in the chunk itself.
+ * This class is mainly used by the API and is not meant to be used otherwise.
+ * </pre>
+ */
+public class ChunkInteractionIndex {
+
+    /**
+     * The version of the binary format created by {@link #encode()}.
+     */
+    private static final byte FORMAT_VERSION = 1;
+
+    /**
+     * Marks an empty slot in {@link #positions}. Packed positions of blocks inside the world height never reach this value.
+     */
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private static final int MINIMUM_CAPACITY = 16;
+
+    /**
+     * The packed positions of the blocks, {@link #EMPTY} for unused slots.
+     */
+    private int[] positions;
+
+    /**
+     * The bindings of the blocks in the slot of their position.
+     */
+    private Binding[] bindings;
+
+    /**
+     * The amount of blocks in the index.
+     */
+    private int size;
+
+    /**
+     * Creates an empty {@link ChunkInteractionIndex}.
+     */
+    public ChunkInteractionIndex() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    private ChunkInteractionIndex(int capacity) {
+        this.positions = new int[capacity];
+        this.bindings = new Binding[capacity];
+        Arrays.fill(positions, EMPTY);
+    }
+
+    /**
+     * Packs the position of a block into a single {@code int}. Only the position inside the chunk is kept.
+     *
+     * @param x The x coordinate of the block.
+     * @param y The y coordinate of the block.
+     * @param z The z coordinate of the block.
+     * @return The packed position.
+     */
+    public static int pack(int x, int y, int z) {
+        return (y << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    /**
+     * @param position A packed position.
+     * @return The binding of the block at the position or {@code null} if no interaction is bound to it.
+     */
+    public Binding get(int position) {
+        int mask = positions.length - 1;
+        for (int slot = slot(position); ; slot = (slot + 1) & mask) {
+            int current = positions[slot];
+            if (current == position) return bindings[slot];
+            if (current == EMPTY) return null;
+        }
+    }
+
+    /**
+     * Binds an interaction to a block.
+     *
+     * @param position A packed position.
+     * @param binding  The binding of the block.
+     * @return The binding of the block before or {@code null}.
+     */
+    public Binding put(int position, Binding binding) {
+        if ((size + 1) * 2 > positions.length)
+            resize(positions.length * 2);
+
+        int mask = positions.length - 1;
+        for (int slot = slot(position); ; slot = (slot + 1) & mask) {
+            int current = positions[slot];
+            if (current == position) {
+                Binding previous = bindings[slot];
+                bindings[slot] = binding;
+                return previous;
+            }
+            if (current == EMPTY) {
+                positions[slot] = position;
+                bindings[slot] = binding;
+                size++;
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Removes the binding of a block.
+     *
+     * @param position A packed position.
+     * @return The binding of the block or {@code null} if no interaction was bound to it.
+     */
+    public Binding remove(int position) {
+        int mask = positions.length - 1;
+        int slot = slot(position);
+
+        while (positions[slot] != position) {
+            if (positions[slot] == EMPTY) return null;
+            slot = (slot + 1) & mask;
+        }
+
+        Binding previous = bindings[slot];
+        size--;
+
+        // Shift the following entries of the probe sequence back, so that lookups do not stop at the freed slot
+        int free = slot;
+        for (int next = (free + 1) & mask; positions[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(positions[next]);
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                positions[free] = positions[next];
+                bindings[free] = bindings[next];
+                free = next;
+            }
+        }
+
+        positions[free] = EMPTY;
+        bindings[free] = null;
+        return previous;
+    }
+
+    /**
+     * @return The amount of blocks in the index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Whether no block of the chunk has an interaction.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Encodes the index into a byte array. Every interaction key and block type is only written once.
+     *
+     * @return The encoded index.
+     */
+    public byte[] encode() {
+        Map<String, Integer> palette = new HashMap<>();
+        List<String> paletteEntries = new ArrayList<>();
+
+        for (Binding binding : bindings) {
+            if (binding == null) continue;
+            if (palette.putIfAbsent(binding.interactionKey(), palette.size()) == null)
+                paletteEntries.add(binding.interactionKey());
+            if (palette.putIfAbsent(binding.blockType(), palette.size()) == null)
+                paletteEntries.add(binding.blockType());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(9 + size * 12);
+
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(FORMAT_VERSION);
+            output.writeInt(paletteEntries.size());
+            for (String entry : paletteEntries)
+                output.writeUTF(entry);
+
+            output.writeInt(size);
+            for (int slot = 0; slot < positions.length; slot++) {
+                if (positions[slot] == EMPTY) continue;
+                output.writeInt(positions[slot]);
+                output.writeInt(palette.get(bindings[slot].interactionKey()));
+                output.writeInt(palette.get(bindings[slot].blockType()));
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an index which was encoded with {@link #encode()}.
+     *
+     * @param data The encoded index.
+     * @return The decoded index.
+     * @throws IllegalArgumentException If the data is not a valid encoded index.
+     */
+    public static ChunkInteractionIndex decode(byte[] data) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = input.readByte();
+            if (version != FORMAT_VERSION)
+                throw new IllegalArgumentException("Unknown format version " + version);
+
+            // Every palette entry takes at least 2 bytes, so larger counts can only come from corrupted data
+            int paletteSize = input.readInt();
+            if (paletteSize < 0 || paletteSize > input.available() / 2)
+                throw new IllegalArgumentException("Invalid palette size " + paletteSize);
+
+            String[] palette = new String[paletteSize];
+            for (int i = 0; i < palette.length; i++)
+                palette[i] = input.readUTF();
+
+            // Every block takes 12 bytes: the position and the palette indices of the interaction key and the block type
+            int count = input.readInt();
+            if (count < 0 || count > input.available() / 12)
+                throw new IllegalArgumentException("Invalid block count " + count);
+
+            ChunkInteractionIndex index = new ChunkInteractionIndex(capacityFor(count));
+            Map<Long, Binding> decodedBindings = new HashMap<>();
+
+            for (int i = 0; i < count; i++) {
+                int position = input.readInt();
+                int interactionKey = input.readInt();
+                int blockType = input.readInt();
+
+                // Blocks with the same interaction and type share one binding
+                Binding binding = decodedBindings.computeIfAbsent(((long) blockType << 32) | (interactionKey & 0xFFFFFFFFL),
+                        key -> new Binding(palette[interactionKey], palette[blockType]));
+                index.put(position, binding);
+            }
+
+            return index;
+        } catch (IOException | IndexOutOfBoundsException exception) {
+            throw new IllegalArgumentException("The data is not a valid chunk interaction index", exception);
+        }
+    }
+
+    private static int capacityFor(int count) {
+        return Math.max(MINIMUM_CAPACITY, Integer.highestOneBit(Math.max(1, count * 2 - 1)) << 1);
+    }
+
+    private int slot(int position) {
+        return (position * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(positions.length));
+    }
+
+    private void resize(int capacity) {
+        int[] oldPositions = positions;
+        Binding[] oldBindings = bindings;
+
+        this.positions = new int[capacity];
+        this.bindings = new Binding[capacity];
+        Arrays.fill(positions, EMPTY);
+        this.size = 0;
+
+        for (int slot = 0; slot < oldPositions.length; slot++) {
+            if (oldPositions[slot] != EMPTY)
+                put(oldPositions[slot], oldBindings[slot]);
+        }
+    }
+
+    /**
+     * The interaction bound to a block.
+     *
+     * @param interactionKey The key of the interaction.
+     * @param blockType      The name of the {@link org.bukkit.Material} the block had when the interaction was bound.
+     */
+    public record Binding(String interactionKey, String blockType) {
+
+        /**
+         * Creates a new {@link Binding}.
+         *
+         * @throws NullPointerException If the interaction key or the block type is {@code null}.
+         */
+        public Binding {
+            Objects.requireNonNull(interactionKey, "interactionKey");
+            Objects.requireNonNull(blockType, "blockType");
+        }
+
+    }
+
+}
@@ -1,6 +1,7 @@
 package dev.edgetom.interactions.utils;
 
 import dev.edgetom.interactions.HoldDownInteractionExecutor;
+import dev.edgetom.interactions.persistence.InteractionStateStore;
 import lombok.Getter;
 import org.bukkit.entity.Player;
 
@@ -16,7 +17,7 @@ public class HoldDownInteraction {
     /**
      * The {@link HoldDownInteractionExecutor} with which this interaction was initiated.
      */
-    private final HoldDownInteractionExecutor interactionExecutor;
+    private HoldDownInteractionExecutor interactionExecutor;
 
     /**
      * The player who caused the interaction.
@@ -49,6 +50,10 @@ public class HoldDownInteraction {
         this.interactionExecutor = interactionExecutor;
         this.player = player;
 
+        InteractionStateStore stateStore = interactionExecutor.getInteractionManager().getStateStore();
+        if (stateStore != null)
+            this.elapsedTicks = stateStore.takeHoldProgress(player, interactionExecutor.getInteractionKey());
+
         this.repeatingTask = new RepeatingTask(interactionExecutor.getInteractionManager().getPlugin(), 1, task -> {
             if (!isValid()) {
                 cancel(true);
@@ -74,11 +79,23 @@ public class HoldDownInteraction {
      * @param invalid Whether the interaction was canceled because the item was not clicked anymore.
      */
     public void cancel(boolean invalid) {
-        if (invalid)
-            interactionExecutor.onCancel(player, elapsedTicks, lastCheckTicks);
+        try {
+            if (invalid)
+                interactionExecutor.onCancel(player, elapsedTicks, lastCheckTicks);
+        } finally {
+            this.repeatingTask.cancel();
+            interactionExecutor.getInteractionManager().getHoldDownInteractions().remove(player);
+        }
+    }
 
-        this.repeatingTask.cancel();
-        interactionExecutor.getInteractionManager().getHoldDownInteractions().remove(player);
+    /**
+     * Binds the interaction to another {@link HoldDownInteractionExecutor} with the same interaction key
+     * (e.g. after the definitions of the interactions were reloaded). The progress of the interaction is kept.
+     *
+     * @param interactionExecutor The executor which replaces the executor the interaction was initiated with.
+     */
+    public void rebind(HoldDownInteractionExecutor interactionExecutor) {
+        this.interactionExecutor = interactionExecutor;
     }
 
     /**
@@ -0,0 +1,93 @@
+package dev.edgetom.interactions.utils;
+
+import java.util.Random;
+
+/**
+ * <pre>
+ * A benchmark for the lookups of the {@link ChunkInteractionIndex}, which are performed on every
+ * {@link org.bukkit.event.player.PlayerInteractEvent} on a block in a chunk with block interactions.
+ *
+ * For every size the index is filled with blocks at random positions of a chunk with the world height of 1.18+
+ * and then queried for random positions of which half carry an interaction. The time of the encoding and
+ * decoding, which happens when a binding changes or the chunk is loaded, is measured as well.
+ *
+ * Run it with (after {@code mvn test-compile}):
+ * java -cp target/classes:target/test-classes dev.edgetom.interactions.utils.ChunkInteractionIndexBenchmark
+ * </pre>
+ */
+public class ChunkInteractionIndexBenchmark {
+
+    private static final int[] SIZES = {16, 256, 1_024, 4_096, 16_384};
+
+    private static final int LOOKUPS = 1 << 20;
+
+    private static final int CODING_REPETITIONS = 20;
+
+    private static final int ROUNDS = 10;
+
+    private static final int MIN_Y = -64;
+
+    private static final int HEIGHT = 384;
+
+    public static void main(String[] args) {
+        System.out.printf("%8s %14s %14s %14s %10s%n", "blocks", "lookup (ns)", "encode (us)", "decode (us)", "bytes");
+
+        for (int size : SIZES) {
+            // Run the first rounds as warm up for the JIT compiler
+            Result result = null;
+            for (int round = 0; round < ROUNDS; round++)
+                result = run(size, new Random(round));
+
+            System.out.printf("%8d %14.1f %14.1f %14.1f %10d%n", size, result.lookupNanos, result.encodeMicros, result.decodeMicros, result.bytes);
+        }
+    }
+
+    private static Result run(int size, Random random) {
+        ChunkInteractionIndex index = new ChunkInteractionIndex();
+        int[] bound = new int[size];
+
+        for (int i = 0; i < size; ) {
+            int position = randomPosition(random);
+            if (index.get(position) != null) continue;
+
+            index.put(position, new ChunkInteractionIndex.Binding("interaction_" + random.nextInt(8), "FURNACE"));
+            bound[i++] = position;
+        }
+
+        int[] queries = new int[LOOKUPS];
+        for (int i = 0; i < queries.length; i++)
+            queries[i] = (i & 1) == 0 ? bound[random.nextInt(size)] : randomPosition(random);
+
+        long start = System.nanoTime();
+        int hits = 0;
+        for (int query : queries) {
+            if (index.get(query) != null) hits++;
+        }
+        double lookupNanos = (System.nanoTime() - start) / (double) queries.length;
+
+        byte[] data = null;
+        start = System.nanoTime();
+        for (int i = 0; i < CODING_REPETITIONS; i++)
+            data = index.encode();
+        double encodeMicros = (System.nanoTime() - start) / 1_000.0 / CODING_REPETITIONS;
+
+        ChunkInteractionIndex decoded = null;
+        start = System.nanoTime();
+        for (int i = 0; i < CODING_REPETITIONS; i++)
+            decoded = ChunkInteractionIndex.decode(data);
+        double decodeMicros = (System.nanoTime() - start) / 1_000.0 / CODING_REPETITIONS;
+
+        if (decoded.size() != size || hits < queries.length / 2)
+            throw new IllegalStateException("The index returned wrong results");
+
+        return new Result(lookupNanos, encodeMicros, decodeMicros, data.length);
+    }
+
+    private static int randomPosition(Random random) {
+        return ChunkInteractionIndex.pack(random.nextInt(16), MIN_Y + random.nextInt(HEIGHT), random.nextInt(16));
+    }
+
+    private record Result(double lookupNanos, double encodeMicros, double decodeMicros, int bytes) {
+    }
+
+}